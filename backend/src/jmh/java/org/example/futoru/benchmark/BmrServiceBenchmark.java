@@ -0,0 +1,75 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.BmrRequest;
+import org.example.futoru.dto.BmrResponse;
+import org.example.futoru.dto.Gender;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.BmrService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BmrService} の計算コストを測定するベンチマーク。
+ * <p>
+ * 体重記録の保存やプロフィール更新のたびに呼ばれる処理のため、
+ * 1回あたりの時間と（{@code -prof gc} 指定時の）アロケーション量を確認する。
+ * {@code calculateTargetCalories} と {@code targetCaloriesPrimitive} は
+ * {@code gc.alloc.rate.norm} が 0 B/op（エスケープ解析後）であることを確認する対象。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BmrServiceBenchmark {
+
+    private BmrService bmrService;
+    private BmrRequest request;
+    private User user;
+    private Double weight;
+    private double weightValue;
+
+    @Setup
+    public void setUp() {
+        bmrService = new BmrService();
+
+        request = new BmrRequest();
+        request.setHeight(172.0);
+        request.setWeight(55.5);
+        request.setAge(28);
+        request.setGender(Gender.MALE);
+        request.setActivityLevel(ActivityLevel.MID);
+
+        user = new User();
+        user.setUsername("benchmark");
+        user.setHeight(172.0);
+        user.setAge(28);
+        user.setGender("MALE");
+        user.setActivityLevel("MID");
+
+        weight = 55.5;
+        weightValue = 55.5;
+    }
+
+    /** DTO経由の計算（BMR・TDEE・目標カロリーをすべて算出） */
+    @Benchmark
+    public BmrResponse calculate() {
+        return bmrService.calculate(request);
+    }
+
+    /** ユーザーエンティティからの目標カロリー計算（体重保存時の経路） */
+    @Benchmark
+    public int calculateTargetCalories() {
+        return bmrService.calculateTargetCalories(user, weight);
+    }
+
+    /** プリミティブ引数の静的API */
+    @Benchmark
+    public int targetCaloriesPrimitive() {
+        return BmrService.targetCalories(weightValue, 172.0, 28, Gender.MALE, ActivityLevel.MID);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.MealLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ダッシュボードの摂取カロリー集計のコストを測定するベンチマーク。
+ * <p>
+ * 以前の {@code WebController.index} が行っていた「当日の MealLog をストリームで合計する」処理と、
+ * 現在の日別集計行（DailyCalorieSummary）から値を読むだけの処理を、記録件数ごとに比較する。
+ * DBアクセスは含まず、メモリ上の集計コストのみを測定する。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardAggregationBenchmark {
+
+    @Param({"10", "100", "10000"})
+    public int logCount;
+
+    private List<MealLog> mealLogs;
+    private List<MealLogDto> mealLogDtos;
+    private DailyCalorieSummary summary;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        mealLogs = new ArrayList<>(logCount);
+        mealLogDtos = new ArrayList<>(logCount);
+
+        int total = 0;
+        for (int i = 0; i < logCount; i++) {
+            int calories = 100 + (i % 700);
+
+            MealLog log = new MealLog();
+            log.setId((long) i);
+            log.setName("food-" + i);
+            log.setCalories(calories);
+            log.setAmount(1.0);
+            log.setEatenAt(now);
+            mealLogs.add(log);
+
+            mealLogDtos.add(new MealLogDto((long) i, "food-" + i, calories, 1.0, now));
+            total += calories;
+        }
+
+        summary = new DailyCalorieSummary();
+        summary.setDate(LocalDate.now());
+        summary.setTotalCalories(total);
+        summary.setEntryCount(logCount);
+    }
+
+    /** エンティティのリストを合計する（以前のダッシュボードの処理） */
+    @Benchmark
+    public int sumMealLogEntities() {
+        return mealLogs.stream()
+                .mapToInt(MealLog::getCalories)
+                .sum();
+    }
+
+    /** 射影DTOのリストを合計する */
+    @Benchmark
+    public int sumMealLogDtos() {
+        return mealLogDtos.stream()
+                .mapToInt(MealLogDto::calories)
+                .sum();
+    }
+
+    /** 日別集計行から読む（現在のダッシュボードの処理） */
+    @Benchmark
+    public int readDailySummary() {
+        return summary.getTotalCalories();
+    }
+}
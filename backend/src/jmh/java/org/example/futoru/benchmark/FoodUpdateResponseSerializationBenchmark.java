@@ -0,0 +1,57 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.DashboardDto;
+import org.example.futoru.dto.FoodUpdateResponse;
+import org.example.futoru.dto.MealLogDto;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /api/food/*} のレスポンス（{@link FoodUpdateResponse}）のJSONシリアライズコストを測定するベンチマーク。
+ * <p>
+ * 当日の履歴件数ごとに、Jackson でバイト列へ書き出す時間を測定する。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FoodUpdateResponseSerializationBenchmark {
+
+    @Param({"10", "100", "10000"})
+    public int logCount;
+
+    private JsonMapper jsonMapper;
+    private FoodUpdateResponse response;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        LocalDateTime start = LocalDate.now().atStartOfDay();
+        List<MealLogDto> history = new ArrayList<>(logCount);
+        int total = 0;
+        for (int i = 0; i < logCount; i++) {
+            int calories = 100 + (i % 700);
+            history.add(new MealLogDto((long) i, "食品-" + i, calories, 1.0, start.plusSeconds(i)));
+            total += calories;
+        }
+
+        DashboardDto dashboard = new DashboardDto(2800, total, 2800 - total);
+        response = new FoodUpdateResponse(dashboard, Math.min(total * 100 / 2800, 100), history,
+                LocalDate.now().toString(), logCount);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.form.RecipeForm;
+import org.example.futoru.service.RecipeService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * レシピ作成時の合計カロリー算出（{@link RecipeService#calculateTotalCalories}）のコストを測定するベンチマーク。
+ * <p>
+ * 材料の4件に1件を手入力とし、残りはマスタ食材として倍率付きで計算する。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeRollupBenchmark {
+
+    @Param({"10", "100", "10000"})
+    public int ingredientCount;
+
+    private List<RecipeForm.IngredientDto> ingredients;
+    private Map<Long, FoodItem> foodMap;
+
+    @Setup
+    public void setUp() {
+        ingredients = new ArrayList<>(ingredientCount);
+        foodMap = new HashMap<>();
+
+        for (int i = 0; i < ingredientCount; i++) {
+            RecipeForm.IngredientDto item = new RecipeForm.IngredientDto();
+
+            if (i % 4 == 0) {
+                item.setManualName("manual-" + i);
+                item.setManualCalories(50 + (i % 200));
+            } else {
+                long id = i;
+                FoodItem food = new FoodItem();
+                food.setId(id);
+                food.setName("food-" + i);
+                food.setCalories(80 + (i % 400));
+                food.setType("INGREDIENT");
+                foodMap.put(id, food);
+
+                item.setFoodItemId(id);
+                item.setAmount(0.5 + (i % 4) * 0.5);
+            }
+            ingredients.add(item);
+        }
+    }
+
+    @Benchmark
+    public int calculateTotalCalories() {
+        return RecipeService.calculateTotalCalories(ingredients, foodMap);
+    }
+}
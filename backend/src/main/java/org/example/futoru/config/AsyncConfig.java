@@ -0,0 +1,17 @@
+package org.example.futoru.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * 非同期処理（{@code @Async}、バックグラウンドジョブ）の設定クラス。
+ * <p>
+ * 実行には Spring Boot が構成する {@code applicationTaskExecutor} を使用する。
+ * 通常はスレッドプール（{@code ThreadPoolTaskExecutor}）、{@code spring.threads.virtual.enabled=true}
+ * （virtual プロファイル）の場合はタスクごとに仮想スレッドを起動する実行器となる。
+ * </p>
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
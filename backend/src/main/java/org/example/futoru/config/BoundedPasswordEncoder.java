@@ -0,0 +1,139 @@
+package org.example.futoru.config;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * パスワードのハッシュ化・照合を、専用の実行器で同時実行数を制限して行う {@link PasswordEncoder}。
+ * <p>
+ * BCrypt の計算はCPUを占有するため、ログインが集中するとダッシュボードなど他のリクエストの処理が遅れる。
+ * 計算はこのクラスが持つ専用のスレッドプールで行い、同時に使うCPUを制限する。
+ * （{@code Executor} のBeanとして登録すると Spring Boot の {@code applicationTaskExecutor} が構成されなくなるため、
+ * Beanにはしない。）
+ * 待ち行列が上限に達した場合や、一定時間内に計算が完了しない場合は、
+ * 認証処理の失敗（{@link AuthenticationServiceException}）として扱う。
+ * </p>
+ * <p>
+ * 保存済みのハッシュのコストが設定値と異なる場合は {@link #upgradeEncoding(String)} が true を返し、
+ * ログイン成功時に Spring Security が新しいコストでハッシュを作り直す（{@code UserService#updatePassword}）。
+ * コストを上げた場合だけでなく、下げた場合も対象とする。
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    /** BCrypt ハッシュの接頭辞（例: $2a$10$）からコストを取り出すパターン */
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    /**
+     * @param delegate      実際にハッシュ化・照合を行うエンコーダー
+     * @param strength      delegate に設定した BCrypt のコスト
+     * @param threads       計算に使うスレッド数
+     * @param queueCapacity 待ち行列の長さの上限
+     * @param timeout       計算の完了を待つ時間の上限（待ち行列での待ち時間を含む）
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int strength, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.strength = strength;
+        this.timeout = timeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 保存済みのハッシュを作り直す必要があるか判定する。
+     * BCrypt 以外の形式の場合は delegate の判定に従う。
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+        return Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    /**
+     * 処理を実行器で実行し、完了を待つ。
+     *
+     * @throws AuthenticationServiceException 待ち行列が上限に達した場合、時間内に完了しなかった場合、または待機中に割り込まれた場合
+     */
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Password hashing queue is full", e);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new AuthenticationServiceException("Password hashing timed out after " + timeout.toMillis() + "ms", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 待ち行列の長さ（メトリクス用）。
+     */
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 計算中のスレッド数（メトリクス用）。
+     */
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * スレッドプールを停止する（アプリケーション終了時に Spring から呼ばれる）。
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.futoru.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate のセッションごとに、JDBCでの文の実行時間を計測するリスナー。
+ * <p>
+ * {@code spring.jpa.properties.hibernate.session.events.auto} でクラス名を指定し、
+ * Hibernate がセッションごとにインスタンスを生成する。計測結果は現在のスレッドの {@link QueryStats} に加算する。
+ * </p>
+ */
+public class JdbcTimeSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats.recordJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryStats.recordJdbcTime(System.nanoTime() - batchStart);
+    }
+}
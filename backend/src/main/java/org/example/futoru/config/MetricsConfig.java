@@ -0,0 +1,104 @@
+package org.example.futoru.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.futoru.service.CacheStats;
+import org.example.futoru.service.FoodCatalogCache;
+import org.example.futoru.service.FoodSearchIndex;
+import org.example.futoru.service.FoodUsageCache;
+import org.example.futoru.service.UserCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/**
+ * アプリケーション固有のメトリクスの設定クラス。
+ * <p>
+ * メトリクスはメモリ上のレジストリに集計され、{@code /actuator/prometheus}（ADMIN権限）から取得できる。
+ * Spring Boot が標準で記録する HTTPリクエスト（{@code http.server.requests}）・JVM・HikariCP のメトリクスに加えて、
+ * 次のメトリクスを記録する：
+ * <ul>
+ * <li>{@code futoru.repository.invocations} / {@code futoru.repository.rows}: リポジトリメソッドごとの所要時間と件数</li>
+ * <li>{@code futoru.hibernate.statements}: 1リクエストで発行したSQL文の数（{@link QueryMetricsFilter}）</li>
+ * <li>{@code futoru.hibernate.jdbc}: 1リクエストのJDBCでの文の実行時間の合計（{@link QueryMetricsFilter}）</li>
+ * <li>{@code cache.gets}: メモリ上のキャッシュのヒット・ミス回数（result: hit / miss）</li>
+ * <li>{@code cache.size}: キャッシュに保持しているユーザー数</li>
+ * <li>{@code futoru.password.hashing.active} / {@code futoru.password.hashing.queued}:
+ * パスワードのハッシュ化・照合の実行中・待機中の件数（{@link BoundedPasswordEncoder}）</li>
+ * </ul>
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * リポジトリの計測を組み込む BeanPostProcessor。
+     * 他のBeanより先に生成されるため static メソッドで定義し、レジストリは遅延して取得する。
+     */
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+
+    /**
+     * 各キャッシュのヒット・ミス回数と保持件数をメトリクスとして公開する。
+     * ヒット率は {@code cache.gets{result="hit"} / cache.gets} で求める。
+     */
+    @Bean
+    public MeterBinder cacheMetrics(UserCache userCache,
+                                    FoodCatalogCache foodCatalogCache,
+                                    FoodUsageCache foodUsageCache,
+                                    FoodSearchIndex foodSearchIndex) {
+        return registry -> {
+            bindStats(registry, "user", userCache.stats());
+            bindStats(registry, "food-catalog.system", foodCatalogCache.systemStats());
+            bindStats(registry, "food-catalog.user", foodCatalogCache.userStats());
+            bindStats(registry, "food-usage", foodUsageCache.stats());
+            bindStats(registry, "food-search.index", foodSearchIndex.indexStats());
+
+            bindSize(registry, "user", userCache::size);
+            bindSize(registry, "food-catalog.user", foodCatalogCache::userCacheSize);
+            bindSize(registry, "food-usage", foodUsageCache::size);
+        };
+    }
+
+    /**
+     * パスワードのハッシュ化・照合の実行状況をメトリクスとして公開する。
+     * ログインの集中時に待機件数が増え続ける場合は、スレッド数または BCrypt のコストを見直す。
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("futoru.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::activeCount)
+                    .description("実行中のパスワードのハッシュ化・照合の件数")
+                    .register(registry);
+            Gauge.builder("futoru.password.hashing.queued", passwordEncoder, BoundedPasswordEncoder::queueSize)
+                    .description("実行待ちのパスワードのハッシュ化・照合の件数")
+                    .register(registry);
+        };
+    }
+
+    private static void bindStats(MeterRegistry registry, String cache, CacheStats stats) {
+        FunctionCounter.builder("cache.gets", stats, CacheStats::hits)
+                .description("キャッシュの参照回数")
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", stats, CacheStats::misses)
+                .description("キャッシュの参照回数")
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void bindSize(MeterRegistry registry, String cache, Supplier<Number> size) {
+        Gauge.builder("cache.size", size)
+                .description("キャッシュに保持している件数")
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.futoru.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * コントローラーのメソッド（またはクラス）に、1リクエストで発行してよいSQL文の数の上限を指定する。
+ * <p>
+ * 上限を超えた場合、通常は警告ログを出力し、強制モード（{@code futoru.query-budget.enforce=true}）では
+ * {@link QueryBudgetExceededException} でリクエストを失敗させる。
+ * 指定のないハンドラーには {@code futoru.query-budget.default-max-statements} が適用される。
+ * </p>
+ *
+ * @see QueryBudgetInterceptor
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+
+    /**
+     * 1リクエストで発行してよいSQL文の数の上限。
+     *
+     * @return 上限
+     */
+    int value();
+}
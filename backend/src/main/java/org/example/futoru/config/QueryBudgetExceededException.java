@@ -0,0 +1,17 @@
+package org.example.futoru.config;
+
+/**
+ * 1リクエストで発行したSQL文の数が、{@link QueryBudget} の上限を超えた場合の例外。
+ * 強制モード（{@code futoru.query-budget.enforce=true}、テスト用）でのみ送出される。
+ * <p>
+ * リポジトリの例外変換で {@code InvalidDataAccessApiUsageException} に置き換えられないよう、
+ * IllegalStateException ではなく RuntimeException を継承する。
+ * </p>
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(int statements, int maxStatements) {
+        super("SQL文の数が上限を超えました: " + statements + " > " + maxStatements
+                + "（N+1問題の混入や、不要なクエリの追加がないか確認してください）");
+    }
+}
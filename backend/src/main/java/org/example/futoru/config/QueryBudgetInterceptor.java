@@ -0,0 +1,63 @@
+package org.example.futoru.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * ハンドラーごとのSQL文の数の上限（{@link QueryBudget}）を、リクエストの計測結果に設定するインターセプター。
+ * <p>
+ * 上限を超えたリクエストは完了時に警告ログを出力する。
+ * {@code futoru.query-budget.enforce=true}（テスト用）の場合は、上限を超えた時点でリクエストを失敗させる。
+ * </p>
+ */
+@Slf4j
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    /** {@link QueryBudget} の指定がないハンドラーの上限（0の場合は上限なし） */
+    private final int defaultMaxStatements;
+
+    private final boolean enforce;
+
+    public QueryBudgetInterceptor(@Value("${futoru.query-budget.default-max-statements:30}") int defaultMaxStatements,
+                                  @Value("${futoru.query-budget.enforce:false}") boolean enforce) {
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+            stats.setBudget(maxStatements(handlerMethod), enforce);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && stats.isOverBudget()) {
+            log.warn("Query budget exceeded: {} {} executed {} statements (budget {}, jdbc {} ms)",
+                    request.getMethod(), request.getRequestURI(), stats.statements(), stats.maxStatements(),
+                    stats.jdbcNanos() / 1_000_000);
+        }
+    }
+
+    /**
+     * メソッド、クラスの順に {@link QueryBudget} を探し、なければ既定の上限を返す。
+     */
+    private int maxStatements(HandlerMethod handlerMethod) {
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultMaxStatements;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.futoru.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * リクエストごとに Hibernate が発行したSQL文の数とJDBCの実行時間を計測し、メトリクスとして記録するフィルター。
+ * <p>
+ * {@code futoru.hibernate.statements}（SQL文の数）と {@code futoru.hibernate.jdbc}（JDBCの実行時間）を
+ * method, uri のタグ付きで記録するため、SQLログを出力しなくても、どの画面・APIがクエリを多く発行しているかを確認できる。
+ * 計測結果はリクエスト属性 {@link QueryStats#REQUEST_ATTRIBUTE} にも格納し、DEBUGレベルでリクエストごとにログ出力する。
+ * 認証処理で発行されるクエリも含めるため、Spring Security のフィルターより前に実行する。
+ * </p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+            String uri = uriTag(request);
+            DistributionSummary.builder("futoru.hibernate.statements")
+                    .description("Hibernate が1リクエストで発行したSQL文の数")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.statements());
+            Timer.builder("futoru.hibernate.jdbc")
+                    .description("1リクエストのJDBCでの文の実行時間の合計")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+            log.debug("{} {} -> {} statements, jdbc {} us", request.getMethod(), uri,
+                    stats.statements(), stats.jdbcNanos() / 1_000);
+        }
+    }
+
+    /**
+     * タグの種類が増えすぎないよう、実際のパスではなくマッピングのパターン（例: /api/recipe/{id}/tree）を使う。
+     */
+    private static String uriTag(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.futoru.config;
+
+import java.util.function.Supplier;
+
+/**
+ * 1リクエスト（または1処理単位）の間に Hibernate が発行したSQL文の数と、JDBCの実行時間。
+ * <p>
+ * {@link QueryMetricsFilter} がリクエストの開始時に {@link #begin()} で現在のスレッドに割り当て、
+ * {@link StatementCountInspector} がSQL文の発行のたびに、{@link JdbcTimeSessionListener} が
+ * 文の実行のたびに加算する。
+ * JdbcTemplate で直接発行したSQL（一括登録など）は Hibernate を経由しないため数えない。
+ * </p>
+ * <p>
+ * 上限（{@link QueryBudget}）が設定され、かつ強制モードの場合は、上限を超えた時点の文の発行で
+ * {@link QueryBudgetExceededException} を送出する。テストでN+1問題の混入を検出するために使用する。
+ * </p>
+ */
+public final class QueryStats {
+
+    /** リクエスト終了後に計測結果を参照するためのリクエスト属性名 */
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    /** SQL文の数の上限（0の場合は上限なし） */
+    private int maxStatements;
+    private boolean enforce;
+
+    private QueryStats() {
+    }
+
+    /**
+     * 現在のスレッドで計測を開始する（計測中の場合は0から数え直す）。
+     *
+     * @return 計測結果を保持するインスタンス
+     */
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * 現在のスレッドの計測を終了する。
+     *
+     * @return 計測結果（計測していなかった場合はnull）
+     */
+    public static QueryStats end() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * 現在のスレッドで計測中の結果を返す。
+     *
+     * @return 計測中の結果（計測していない場合はnull）
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 指定された処理を実行し、その間に発行されたSQL文を計測する。
+     * 計測中のスレッドで呼ばれた場合は、処理の終了後に元の計測を再開する（内側の文は外側には加算されない）。
+     *
+     * @param action 計測する処理
+     * @return 計測結果
+     */
+    public static QueryStats measure(Runnable action) {
+        QueryStats outer = CURRENT.get();
+        QueryStats stats = begin();
+        try {
+            action.run();
+            return stats;
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * 指定された処理を、SQL文の数の上限を強制した状態で実行する。
+     *
+     * @param maxStatements SQL文の数の上限
+     * @param action        実行する処理
+     * @param <T>           処理の戻り値の型
+     * @return 処理の戻り値
+     * @throws QueryBudgetExceededException 上限を超えるSQL文が発行された場合
+     */
+    public static <T> T withBudget(int maxStatements, Supplier<T> action) {
+        QueryStats outer = CURRENT.get();
+        QueryStats stats = begin();
+        stats.setBudget(maxStatements, true);
+        try {
+            return action.get();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /** SQL文の発行を1回記録する（計測していないスレッドでは何もしない）。 */
+    static void recordStatement() {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.statements++;
+        if (stats.enforce && stats.isOverBudget()) {
+            throw new QueryBudgetExceededException(stats.statements, stats.maxStatements);
+        }
+    }
+
+    /** JDBCでの文の実行時間を記録する（計測していないスレッドでは何もしない）。 */
+    static void recordJdbcTime(long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    /**
+     * SQL文の数の上限を設定する。
+     *
+     * @param maxStatements 上限（0の場合は上限なし）
+     * @param enforce       true の場合は上限を超えた時点で例外を送出する（false の場合は記録のみ）
+     */
+    public void setBudget(int maxStatements, boolean enforce) {
+        this.maxStatements = maxStatements;
+        this.enforce = enforce;
+    }
+
+    /** @return 発行されたSQL文の数 */
+    public int statements() {
+        return statements;
+    }
+
+    /** @return JDBCでの文の実行時間の合計（ナノ秒。結果セットの読み込み時間は含まない） */
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /** @return SQL文の数の上限（0の場合は上限なし） */
+    public int maxStatements() {
+        return maxStatements;
+    }
+
+    /** @return 上限が設定されており、SQL文の数が上限を超えている場合は true */
+    public boolean isOverBudget() {
+        return maxStatements > 0 && statements > maxStatements;
+    }
+}
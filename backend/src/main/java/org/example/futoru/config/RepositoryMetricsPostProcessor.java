@@ -0,0 +1,126 @@
+package org.example.futoru.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * すべての Spring Data リポジトリに、メソッド単位の計測を組み込む BeanPostProcessor。
+ * <p>
+ * リポジトリのプロキシに {@link MethodInterceptor} を追加し、次のメトリクスを記録する
+ * （repository: インターフェース名、method: メソッド名のタグ付き）：
+ * <ul>
+ * <li>{@code futoru.repository.invocations}: 呼び出しの所要時間（outcome: SUCCESS / ERROR）</li>
+ * <li>{@code futoru.repository.rows}: 返却した件数（コレクション・Optional・単一の値）</li>
+ * </ul>
+ * Stream を返すメソッドは、呼び出し元が読み込みを終えるまで件数が確定しないため、件数を記録しない
+ * （所要時間もクエリの実行開始までとなる）。
+ * </p>
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new MetricsInterceptor(meterRegistry, information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    /** 1つのリポジトリに対する計測処理 */
+    private static final class MetricsInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repository;
+
+        private MetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+            this.meterRegistry = meterRegistry;
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null || method.getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+
+            long start = System.nanoTime();
+            String outcome = "ERROR";
+            try {
+                Object result = invocation.proceed();
+                outcome = "SUCCESS";
+                recordRows(registry, method, result);
+                return result;
+            } finally {
+                Timer.builder("futoru.repository.invocations")
+                        .description("リポジトリメソッドの所要時間")
+                        .tag("repository", repository)
+                        .tag("method", method.getName())
+                        .tag("outcome", outcome)
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void recordRows(MeterRegistry registry, Method method, Object result) {
+            if (method.getReturnType() == void.class) {
+                return;
+            }
+            int rows = rowCount(result);
+            if (rows < 0) {
+                return;
+            }
+            DistributionSummary.builder("futoru.repository.rows")
+                    .description("リポジトリメソッドが返却した件数")
+                    .tag("repository", repository)
+                    .tag("method", method.getName())
+                    .register(registry)
+                    .record(rows);
+        }
+
+        /**
+         * 返却値の件数を数える（件数として扱えない値の場合は -1）。
+         * 数値（件数の集計や更新件数）と真偽値は行ではないため対象外とする。
+         */
+        private static int rowCount(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof Stream<?> || result instanceof Number || result instanceof Boolean) {
+                return -1;
+            }
+            return 1;
+        }
+    }
+}
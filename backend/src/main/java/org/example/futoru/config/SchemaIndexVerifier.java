@@ -0,0 +1,99 @@
+package org.example.futoru.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 起動時に、主要クエリが依存するインデックスの存在を検証するクラス。
+ * <p>
+ * インデックスは Flyway のマイグレーション（db/migration）で作成する。
+ * マイグレーションの適用漏れなどでインデックスが欠けていると、
+ * 食事記録や体重記録の検索が全件走査になるため、起動を中止して早期に気付けるようにする。
+ * {@code futoru.schema.verify-indexes=false} で無効化できる。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "futoru.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements ApplicationRunner {
+
+    /** テーブル名 → 存在すべきインデックス名 */
+    private static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "meal_logs", List.of("idx_meal_logs_user_eaten_at"),
+            "weight_logs", List.of("uk_weight_logs_user_date"),
+            "food_items", List.of("idx_food_items_user", "uk_food_items_code"),
+            "recipes", List.of("idx_recipes_child_parent"),
+            "daily_calorie_summaries", List.of("uk_daily_calorie_summaries_user_date")
+    );
+
+    private final DataSource dataSource;
+
+    /**
+     * JDBCメタデータから各テーブルのインデックス一覧を取得し、不足がないか確認する。
+     *
+     * @param args 起動引数（未使用）
+     * @throws SQLException         メタデータの取得に失敗した場合
+     * @throws IllegalStateException 必要なインデックスが存在しない場合
+     */
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        List<String> missing = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+
+            for (Map.Entry<String, List<String>> entry : REQUIRED_INDEXES.entrySet()) {
+                Set<String> existing = findIndexNames(metaData, connection, entry.getKey());
+                for (String index : entry.getValue()) {
+                    if (!existing.contains(index)) {
+                        missing.add(entry.getKey() + "." + index);
+                    }
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("必要なインデックスが存在しません（マイグレーションを確認してください）: " + missing);
+        }
+        log.info("Schema index check passed: {} tables verified", REQUIRED_INDEXES.size());
+    }
+
+    /**
+     * 指定テーブルのインデックス名を小文字で取得する。
+     * DBによって識別子の大文字・小文字の扱いが異なるため、両方の表記で検索する。
+     */
+    private Set<String> findIndexNames(DatabaseMetaData metaData, Connection connection, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        for (String candidate : List.of(table, table.toUpperCase(Locale.ROOT))) {
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), candidate, false, true)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) {
+                        names.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!names.isEmpty()) {
+                break;
+            }
+        }
+        return names;
+    }
+}
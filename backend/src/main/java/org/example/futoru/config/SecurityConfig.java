@@ -1,13 +1,18 @@
 package org.example.futoru.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 /**
  * アプリケーションのセキュリティ設定クラス。
  * Spring Securityを利用した認証・認可ルール、およびパスワードエンコーダーの定義を行う。
@@ -16,6 +21,32 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * 運用監視用エンドポイント（/actuator/**）のセキュリティフィルターチェーンを定義する。
+     * <p>
+     * ヘルスチェックは認証なしで許可し、メトリクスなどは ADMIN 権限を必要とする。
+     * 監視ツールからの取得を想定し、画面のログインではなくBasic認証で認証する（セッションは作成しない）。
+     * </p>
+     *
+     * @param http HttpSecurity設定ビルダー
+     * @return 構築されたSecurityFilterChain
+     * @throws Exception 設定時の例外
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().hasAuthority("ADMIN")
+                )
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+
     /**
      * HTTPリクエストに対するセキュリティフィルターチェーンを定義する。
      * アクセス許可ルール、フォームログイン、ログアウトの挙動を設定。
@@ -31,6 +62,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ログイン、登録、静的リソースは認証なしでアクセス許可
                         .requestMatchers("/login", "/register", "/css/**", "/js/**").permitAll()
+                        // 管理者向けAPIは ADMIN 権限が必要（role は "ROLE_" 接頭辞なしで保存している）
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                         // その他のリクエストは全て認証が必要
                         .anyRequest().authenticated()
                 )
@@ -51,12 +84,26 @@ public class SecurityConfig {
 
     /**
      * パスワードハッシュ化に使用するエンコーダーBeanを提供する。
-     * セキュリティ強度の高いBCryptアルゴリズムを使用。
+     * <p>
+     * セキュリティ強度の高いBCryptアルゴリズムを使用し、コストは {@code futoru.security.bcrypt-strength} で指定する。
+     * ログインが集中しても BCrypt の計算がCPUを使い切らないよう、計算は専用のスレッドプールで行い、
+     * スレッド数を制限する（{@link BoundedPasswordEncoder}。スレッド数が0の場合はCPUコア数の半分）。
+     * コストを変更した場合、保存済みのハッシュは各ユーザーの次回ログイン時に新しいコストで作り直される。
+     * </p>
      *
-     * @return PasswordEncoder実装 (BCryptPasswordEncoder)
+     * @param strength      BCrypt のコスト（4〜31。1増えるごとに計算時間は約2倍）
+     * @param threads       計算に使うスレッド数
+     * @param queueCapacity 待ち行列の長さの上限（超えた場合、新しいログインは待たずに失敗させる）
+     * @param timeout       計算の完了を待つ時間の上限
+     * @return PasswordEncoder実装 (BCryptPasswordEncoder を BoundedPasswordEncoder で包んだもの)
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${futoru.security.bcrypt-strength:10}") int strength,
+            @Value("${futoru.security.password-hashing.threads:0}") int threads,
+            @Value("${futoru.security.password-hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${futoru.security.password-hashing.timeout:5s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), strength, poolSize, queueCapacity, timeout);
     }
-}
\ No newline at end of file
+}
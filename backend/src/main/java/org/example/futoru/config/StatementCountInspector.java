@@ -0,0 +1,19 @@
+package org.example.futoru.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate が発行するSQL文を数える StatementInspector。
+ * <p>
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} でクラス名を指定し、
+ * Hibernate がインスタンスを生成する。SQL文は変更せずにそのまま返す。
+ * </p>
+ */
+public class StatementCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats.recordStatement();
+        return sql;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.example.futoru.service.UserService;
 import org.example.futoru.form.RegisterForm;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -111,6 +112,10 @@ public class AuthController {
         } catch (IllegalArgumentException e) {
             bindingResult.rejectValue("username", "error.user.duplicate", "このユーザIDは既に使用されています。");
             return "register";
+        } catch (AuthenticationServiceException e) {
+            // ログインの集中などで、パスワードのハッシュ化が待ち時間の上限内に完了しなかった場合
+            bindingResult.rejectValue("password", "error.password.busy", "混み合っているため登録できませんでした。しばらくしてから再度お試しください。");
+            return "register";
         }
     }
 
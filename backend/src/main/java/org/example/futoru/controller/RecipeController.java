@@ -2,7 +2,6 @@ package org.example.futoru.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.futoru.form.RecipeForm;
-import org.example.futoru.service.FoodService;
 import org.example.futoru.service.RecipeService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,14 +22,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class RecipeController {
 
-    private final FoodService foodService;
     private final RecipeService recipeService;
 
     /**
      * レシピ作成画面を表示する。
      * <p>
-     * 画面左側のリスト（ドラッグ＆ドロップ用）に表示するため、
-     * 利用可能な全食材データを取得してModelに格納する。
+     * 画面左側の食材リストは、検索API（/api/food/search）から取得して表示する。
      * </p>
      *
      * @param model       画面にデータを渡すためのModel
@@ -39,9 +36,6 @@ public class RecipeController {
      */
     @GetMapping("/create")
     public String showCreatePage(Model model, @AuthenticationPrincipal UserDetails userDetails) {
-        // 左側のリストに表示するために、全食材を取得して渡す
-        model.addAttribute("foodList", foodService.getAvailableFoods(userDetails.getUsername()));
-
         // アクティブなタブ指定（ナビゲーションバーの強調表示用）
         model.addAttribute("activePage", "recipe");
 
@@ -1,8 +1,12 @@
 package org.example.futoru.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.config.QueryBudget;
 import org.example.futoru.dto.DashboardDto;
-import org.example.futoru.entity.MealLog;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.dto.WeightChartDto;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
 import org.example.futoru.service.FoodService;
 import org.example.futoru.service.UserService;
 import org.example.futoru.service.WeightLogService;
@@ -37,6 +41,7 @@ public class WebController {
      * <p>
      * 画面表示に必要な全てのデータ（食事履歴、カロリー進捗、体重グラフなど）を一括して取得する。
      * また、ユーザーがプロフィール（身長・体重など）を未設定の場合は、初期設定画面へ強制リダイレクトする制御もここで行う。
+     * 最も利用される画面のため、発行するSQL文の数に上限を設けている（{@link QueryBudget}）。
      * </p>
      *
      * @param model       画面表示用データモデル
@@ -44,22 +49,22 @@ public class WebController {
      * @return テンプレート名 ("index") または リダイレクトパス
      */
     @GetMapping("/")
+    @QueryBudget(10)
     public String index(Model model, @AuthenticationPrincipal UserDetails userDetails) {
-        String username = userDetails.getUsername();
+        // ユーザーの検索はこのリクエストで1回だけ行い、以降は解決済みのUserを各サービスに渡す
+        User user = userService.getUserByUsername(userDetails.getUsername());
 
-        if (!userService.isProfileCompleted(username)) {
+        if (!userService.isProfileCompleted(user)) {
             return "redirect:/profile/init";
         }
 
-        var user = userService.getUserByUsername(username);
-
         model.addAttribute("activePage", "home");
 
-        List<MealLog> todayLogs = foodService.getTodayMealLogs(username);
+        List<MealLogDto> todayLogs = foodService.getTodayMealLogs(user);
 
-        int currentCalories = todayLogs.stream()
-                .mapToInt(MealLog::getCalories)
-                .sum();
+        // 合計カロリーは日別集計行から取得する（MealLogを再集計しない）
+        DailyCalorieSummary summary = foodService.getTodaySummary(user);
+        int currentCalories = summary.getTotalCalories();
 
         int targetCalories = user.getTargetCalories();
 
@@ -79,11 +84,14 @@ public class WebController {
         model.addAttribute("progress", progress);
 
         model.addAttribute("history", todayLogs);
-        model.addAttribute("foodList", foodService.getAvailableFoods(username));
-
-        // Chart.js 用データ
-        model.addAttribute("weightDates", weightLogService.getGraphLabels(username));
-        model.addAttribute("weightValues", weightLogService.getGraphValues(username));
+        // 差分レスポンス（/api/food/*?mode=delta）の連番チェックの起点
+        model.addAttribute("historyDate", summary.getDate().toString());
+        model.addAttribute("historySequence", summary.getRevision());
+
+        // Chart.js 用データ（ラベルと値を1回のクエリで取得し、長期間の履歴は間引く）
+        WeightChartDto chart = weightLogService.getChartSeries(user, null, null, WeightLogService.DEFAULT_CHART_POINTS);
+        model.addAttribute("weightDates", chart.labels());
+        model.addAttribute("weightValues", chart.values());
 
         return "index";
     }
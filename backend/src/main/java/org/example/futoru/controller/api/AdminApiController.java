@@ -0,0 +1,90 @@
+package org.example.futoru.controller.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.CatalogImportResult;
+import org.example.futoru.dto.TargetRecomputeStatus;
+import org.example.futoru.service.CsvFormatException;
+import org.example.futoru.service.FoodCatalogImportService;
+import org.example.futoru.service.ImportAlreadyRunningException;
+import org.example.futoru.service.TargetCalorieRecomputeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 管理者向けの運用操作を提供するAPIコントローラー。
+ * <p>
+ * {@code /api/admin/**} は ADMIN 権限を持つユーザーのみアクセスできる（{@code SecurityConfig} で設定）。
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminApiController {
+
+    private final TargetCalorieRecomputeService targetCalorieRecomputeService;
+    private final FoodCatalogImportService foodCatalogImportService;
+
+    /**
+     * 全ユーザーの目標カロリーの一括再計算をバックグラウンドで開始する。
+     * <p>
+     * 計算式の定数を変更した後に実行する。進捗は {@code GET /api/admin/target-calories/recompute} で確認できる。
+     * </p>
+     *
+     * @return 開始直後の進捗状況
+     * @throws ResponseStatusException 既に実行中の場合（409 Conflict）
+     */
+    @PostMapping("/target-calories/recompute")
+    public TargetRecomputeStatus startTargetRecompute() {
+        try {
+            return targetCalorieRecomputeService.start();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * 目標カロリー一括再計算の進捗状況を取得する。
+     *
+     * @return 実行中または直近のジョブの進捗状況
+     */
+    @GetMapping("/target-calories/recompute")
+    public TargetRecomputeStatus getTargetRecomputeStatus() {
+        return targetCalorieRecomputeService.getStatus();
+    }
+
+    /**
+     * システム標準食品（食品カタログ）をCSVファイルから一括で取り込む。
+     * <p>
+     * 識別コードが同じ既存の食品は更新し、未登録の食品は新規登録する。
+     * 反映はすべての行を処理した後に一括で行われ、途中で失敗した場合は何も反映されない。
+     * </p>
+     *
+     * @param file 食品カタログのCSVファイル（UTF-8。列は「識別コード,食品名,カロリー,単位,種類」）
+     * @return 取り込み結果
+     * @throws IOException             ファイルの読み込みに失敗した場合
+     * @throws ResponseStatusException ファイルが空またはCSVの構造が不正な場合（400）、既に取り込みが実行中の場合（409 Conflict）
+     */
+    @PostMapping("/food-catalog/import")
+    public CatalogImportResult importFoodCatalog(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is empty");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            return foodCatalogImportService.importCatalog(in);
+        } catch (CsvFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (ImportAlreadyRunningException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+}
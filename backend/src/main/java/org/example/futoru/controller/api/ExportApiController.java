@@ -0,0 +1,90 @@
+package org.example.futoru.controller.api;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.ExportService;
+import org.example.futoru.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ユーザー自身の記録データをダウンロードするためのAPIコントローラー。
+ * <p>
+ * 記録はDBから読み込みながらレスポンスへ直接書き込むため、履歴の件数に関わらずメモリ使用量は一定となる。
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportApiController {
+
+    private final ExportService exportService;
+    private final UserService userService;
+
+    /**
+     * 食事記録または体重記録の全履歴をファイルとしてダウンロードする。
+     *
+     * @param type        "meals"（食事記録）または "weights"（体重記録）
+     * @param format      "csv" または "ndjson"（1行1件のJSON）
+     * @param gzip        true の場合は gzip 圧縮したファイル（.gz）として返す
+     * @param userDetails 認証済みユーザー情報
+     * @param response    書き込み先のレスポンス
+     * @throws IOException 書き込みに失敗した場合
+     */
+    @GetMapping("/{type}")
+    public void export(
+            @PathVariable String type,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportService.Format exportFormat = parseFormat(format);
+        if (!type.equals("meals") && !type.equals("weights")) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown export type: " + type);
+        }
+
+        User user = userService.getUserByUsername(userDetails.getUsername());
+
+        String filename = "futoru-" + type + "-" + LocalDate.now()
+                + (exportFormat == ExportService.Format.CSV ? ".csv" : ".ndjson")
+                + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip"
+                : exportFormat == ExportService.Format.CSV ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        if (type.equals("meals")) {
+            exportService.exportMeals(user, exportFormat, out);
+        } else {
+            exportService.exportWeights(user, exportFormat, out);
+        }
+        if (out instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out.flush();
+    }
+
+    private static ExportService.Format parseFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format: " + format);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package org.example.futoru.controller.api;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.config.QueryBudget;
 import org.example.futoru.dto.DashboardDto;
+import org.example.futoru.dto.FoodDeltaResponse;
+import org.example.futoru.dto.FoodOptionDto;
 import org.example.futoru.dto.FoodUpdateResponse;
-import org.example.futoru.entity.MealLog;
+import org.example.futoru.dto.MealLogChange;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.FoodSearchIndex;
 import org.example.futoru.service.UserService;
 import org.example.futoru.service.FoodService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -17,16 +24,75 @@ import java.util.List;
  * <p>
  * AJAXリクエストを受け付け、食事データの更新を行うとともに、
  * 画面（プログレスバーや履歴リスト）の再描画に必要な最新データを返却する。
+ * 追加・削除の各APIは {@code mode=delta} を指定すると、当日の履歴全体ではなく
+ * 変更された1件と更新後の合計値だけを返す（{@link FoodDeltaResponse}）。
+ * 記録のたびに呼ばれるため、各APIが発行するSQL文の数に上限を設けている（{@link QueryBudget}）。
  * </p>
  */
 @RestController
 @RequestMapping("/api/food")
 @RequiredArgsConstructor
+@QueryBudget(15)
 public class FoodApiController {
 
+    /** 差分レスポンスを要求するときの mode パラメータの値 */
+    private static final String MODE_DELTA = "delta";
+
+    /** 食品検索で返却する件数の上限 */
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final FoodService foodService;
     private final UserService userService;
 
+    /**
+     * 当日の食事履歴とダッシュボード情報を取得する。
+     * <p>
+     * 差分レスポンスの連番が途切れた場合に、クライアントが全体を再取得するために使用する。
+     * </p>
+     *
+     * @param userDetails 認証済みユーザー情報
+     * @return 当日のダッシュボード情報および食事履歴
+     */
+    @GetMapping("/today")
+    public FoodUpdateResponse getToday(@AuthenticationPrincipal UserDetails userDetails) {
+        return createResponse(userDetails.getUsername());
+    }
+
+    /**
+     * 選択可能な食品（システム標準食品とMy食品）を食品名で検索する。
+     * <p>
+     * メニュー選択やレシピ作成画面の検索欄から、入力のたびに呼び出される。
+     * ひらがな・カタカナ、全角・半角の違いは区別せず、よく使う食品から順に返す。
+     * </p>
+     *
+     * @param q           検索語（省略時はよく使う食品から順に返す）
+     * @param limit       返却する件数の上限（最大100）
+     * @param userDetails 認証済みユーザー情報
+     * @return 検索結果の食品リスト
+     */
+    @GetMapping("/search")
+    public List<FoodOptionDto> search(
+            @RequestParam(value = "q", defaultValue = "") String q,
+            @RequestParam(value = "limit", defaultValue = "" + FoodSearchIndex.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return foodService.searchFoods(userDetails.getUsername(), q, Math.min(limit, MAX_SEARCH_LIMIT));
+    }
+
+    /**
+     * 最近よく使う食品を取得する。
+     * <p>
+     * メニュー選択を開いたときに最初に表示し、同じ食品をワンタップで記録できるようにする。
+     * </p>
+     *
+     * @param userDetails 認証済みユーザー情報
+     * @return よく使う食品のリスト（よく使う順）
+     */
+    @GetMapping("/recent")
+    public List<FoodOptionDto> recent(@AuthenticationPrincipal UserDetails userDetails) {
+        return foodService.getRecentFoods(userDetails.getUsername());
+    }
+
     /**
      * マスタデータ（既存の食材・レシピ）から食事記録を追加する。
      *
@@ -46,6 +112,25 @@ public class FoodApiController {
         return createResponse(username);
     }
 
+    /**
+     * マスタデータから食事記録を追加し、差分レスポンスを返す（{@code mode=delta}）。
+     *
+     * @param foodItemId  選択された食材のID
+     * @param amount      摂取量（倍率や個数）
+     * @param userDetails 認証済みユーザー情報
+     * @return 追加された1件と更新後の合計値
+     */
+    @PostMapping(value = "/add", params = "mode=" + MODE_DELTA)
+    public FoodDeltaResponse addFoodDelta(
+            @RequestParam Long foodItemId,
+            @RequestParam Double amount,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = userDetails.getUsername();
+        MealLogChange change = foodService.recordMealFromMaster(username, foodItemId, amount);
+        return createDeltaResponse("ADD", change, username);
+    }
+
     /**
      * 手動入力で食事記録を追加する。
      * <p>
@@ -68,6 +153,25 @@ public class FoodApiController {
         return createResponse(username);
     }
 
+    /**
+     * 手動入力で食事記録を追加し、差分レスポンスを返す（{@code mode=delta}）。
+     *
+     * @param name        食品名
+     * @param calories    摂取カロリー
+     * @param userDetails 認証済みユーザー情報
+     * @return 追加された1件と更新後の合計値
+     */
+    @PostMapping(value = "/manual", params = "mode=" + MODE_DELTA)
+    public FoodDeltaResponse addManualDelta(
+            @RequestParam String name,
+            @RequestParam int calories,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = userDetails.getUsername();
+        MealLogChange change = foodService.recordManualMeal(username, name, calories);
+        return createDeltaResponse("ADD", change, username);
+    }
+
     /**
      * 指定された食事記録を削除する。
      *
@@ -85,10 +189,48 @@ public class FoodApiController {
         return createResponse(username);
     }
 
+    /**
+     * 指定された食事記録を削除し、差分レスポンスを返す（{@code mode=delta}）。
+     *
+     * @param id          削除対象のMealLog ID
+     * @param userDetails 認証済みユーザー情報
+     * @return 削除された1件と更新後の合計値
+     */
+    @PostMapping(value = "/delete/{id}", params = "mode=" + MODE_DELTA)
+    public FoodDeltaResponse deleteFoodDelta(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = userDetails.getUsername();
+        MealLogChange change = foodService.deleteMealLog(id, username);
+        return createDeltaResponse("DELETE", change, username);
+    }
+
+    /**
+     * 差分レスポンスを生成する。
+     * <p>
+     * 更新処理で得られた合計値をそのまま使うため、履歴の再取得は行わない
+     * （ユーザー情報はリクエスト内のキャッシュから取得される）。
+     * </p>
+     */
+    private FoodDeltaResponse createDeltaResponse(String operation, MealLogChange change, String username) {
+        int targetCalories = userService.getUserByUsername(username).getTargetCalories();
+        int currentCalories = change.totalCalories();
+
+        return new FoodDeltaResponse(
+                operation,
+                change.entry(),
+                new DashboardDto(targetCalories, currentCalories, targetCalories - currentCalories),
+                calculateProgress(currentCalories, targetCalories),
+                change.date().toString(),
+                change.sequence()
+        );
+    }
+
     /**
      * クライアントへのレスポンスデータを生成するヘルパーメソッド。
      * <p>
-     * 最新の食事履歴を取得し、摂取カロリーの合計や目標に対する進捗率を再計算して、
+     * 最新の食事履歴と日別カロリー集計を取得し、目標に対する進捗率を計算して、
      * 画面更新用DTOに詰め込んで返却する。
      * </p>
      *
@@ -96,11 +238,12 @@ public class FoodApiController {
      * @return 画面更新用DTO（FoodUpdateResponse）
      */
     private FoodUpdateResponse createResponse(String username) {
-        var user = userService.getUserByUsername(username);
+        User user = userService.getUserByUsername(username);
 
-        List<MealLog> history = foodService.getTodayMealLogs(username);
+        List<MealLogDto> history = foodService.getTodayMealLogs(user);
+        DailyCalorieSummary summary = foodService.getTodaySummary(user);
 
-        int currentCalories = history.stream().mapToInt(MealLog::getCalories).sum();
+        int currentCalories = summary.getTotalCalories();
         int targetCalories = user.getTargetCalories();
 
         DashboardDto dashboard = new DashboardDto(
@@ -109,12 +252,19 @@ public class FoodApiController {
                 targetCalories - currentCalories
         );
 
+        return new FoodUpdateResponse(dashboard, calculateProgress(currentCalories, targetCalories), history,
+                summary.getDate().toString(), summary.getRevision());
+    }
+
+    /**
+     * 目標カロリーに対する進捗率（%）を計算する（最大100%に制限）。
+     */
+    private static int calculateProgress(int currentCalories, int targetCalories) {
         int progress = 0;
         if (targetCalories > 0) {
             progress = (int) ((double) currentCalories / targetCalories * 100);
             progress = Math.min(progress, 100);
         }
-
-        return new FoodUpdateResponse(dashboard, progress, history);
+        return progress;
     }
-}
\ No newline at end of file
+}
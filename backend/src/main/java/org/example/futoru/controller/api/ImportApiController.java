@@ -0,0 +1,71 @@
+package org.example.futoru.controller.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.ImportResult;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.CsvFormatException;
+import org.example.futoru.service.ImportService;
+import org.example.futoru.service.UserService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 他のアプリなどで記録していた履歴を、CSVファイルから一括登録するためのAPIコントローラー。
+ * <p>
+ * CSVの形式はエクスポート（{@link ExportApiController}）と同じため、
+ * ダウンロードしたファイルをそのまま別のアカウントへ取り込むこともできる。
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+public class ImportApiController {
+
+    private final ImportService importService;
+    private final UserService userService;
+
+    /**
+     * 食事記録または体重記録をCSVファイルから一括登録する。
+     *
+     * @param type        "meals"（食事記録）または "weights"（体重記録）
+     * @param file        アップロードされたCSVファイル（UTF-8）
+     * @param userDetails 認証済みユーザー情報
+     * @return 登録結果（登録件数、重複・不正のため登録しなかった件数と理由）
+     * @throws IOException             ファイルの読み込みに失敗した場合
+     * @throws ResponseStatusException 種別が不明な場合（404）、ファイルが空またはCSVの構造が不正な場合（400）
+     */
+    @PostMapping("/{type}")
+    public ImportResult importFile(
+            @PathVariable String type,
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) throws IOException {
+        if (!type.equals("meals") && !type.equals("weights")) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown import type: " + type);
+        }
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is empty");
+        }
+
+        User user = userService.getUserByUsername(userDetails.getUsername());
+
+        try (InputStream in = file.getInputStream()) {
+            return type.equals("meals")
+                    ? importService.importMeals(user, in)
+                    : importService.importWeights(user, in);
+        } catch (CsvFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.futoru.controller.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.RecipeTreeDto;
+import org.example.futoru.service.RecipeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * レシピ（料理・定食）の参照APIを提供するコントローラー。
+ */
+@RestController
+@RequestMapping("/api/recipe")
+@RequiredArgsConstructor
+public class RecipeApiController {
+
+    private final RecipeService recipeService;
+
+    /**
+     * 指定された料理の構成要素ツリーを取得する。
+     * <p>
+     * 定食に含まれる料理の材料まで、すべての階層を平坦化したリストとして返す。
+     * 存在しない食品や他のユーザーのMy食品を指定した場合は 404 を返す。
+     * </p>
+     *
+     * @param id          料理のID
+     * @param userDetails 認証済みユーザー情報
+     * @return 構成要素ツリー
+     */
+    @GetMapping("/{id}/tree")
+    public RecipeTreeDto getTree(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return recipeService.getRecipeTree(userDetails.getUsername(), id);
+        } catch (IllegalArgumentException | SecurityException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Recipe not found");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.futoru.controller.api;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.WeightChartDto;
+import org.example.futoru.service.UserService;
 import org.example.futoru.service.WeightLogService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +28,7 @@ import java.util.Map;
 public class WeightApiController {
 
     private final WeightLogService weightLogService;
+    private final UserService userService;
 
     /**
      * 指定された日付の体重データを取得する。
@@ -52,4 +56,28 @@ public class WeightApiController {
 
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * 体重推移グラフ用のデータを取得する。
+     * <p>
+     * 期間を指定しない場合は全期間を対象とする。
+     * 記録が {@code points} 件を超える場合は、グラフの形状を保ったまま間引いて返す。
+     * </p>
+     *
+     * @param from        表示開始日 (形式: "yyyy-MM-dd"、省略可)
+     * @param to          表示終了日 (形式: "yyyy-MM-dd"、省略可)
+     * @param points      返却する点数の上限（{@value WeightLogService#MIN_CHART_POINTS}〜{@value WeightLogService#MAX_CHART_POINTS} の範囲に切り詰める）
+     * @param userDetails 認証済みユーザー情報
+     * @return 日付ラベルと体重のリスト
+     */
+    @GetMapping("/chart")
+    public WeightChartDto getChart(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "points", defaultValue = "" + WeightLogService.DEFAULT_CHART_POINTS) int points,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        int clamped = Math.max(WeightLogService.MIN_CHART_POINTS, Math.min(points, WeightLogService.MAX_CHART_POINTS));
+        return weightLogService.getChartSeries(userService.getUserByUsername(userDetails.getUsername()), from, to, clamped);
+    }
+}
@@ -29,6 +29,31 @@ public enum ActivityLevel {
      */
     HIGH(1.725);
 
+    /** values() は呼び出しごとに配列を複製するため、変換用に1度だけ取得しておく */
+    private static final ActivityLevel[] VALUES = values();
+
     // 補正係数（BmrService計算用）
     private final double multiplier;
+
+    /**
+     * DB保存値(String)をActivityLevel Enumに変換する。
+     * <p>
+     * 大文字小文字を区別せずに名前で照合し、nullまたは不正値の場合はLOWを返す。
+     * {@code valueOf} と違い、変換失敗時にも例外を発生させない。
+     * </p>
+     *
+     * @param code DB保存値
+     * @return 対応するActivityLevel
+     */
+    public static ActivityLevel fromCode(String code) {
+        if (code == null) {
+            return LOW;
+        }
+        for (ActivityLevel level : VALUES) {
+            if (level.name().equalsIgnoreCase(code)) {
+                return level;
+            }
+        }
+        return LOW;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.example.futoru.dto;
+
+import java.util.Objects;
+
+/**
+ * 食品成分表などから一括取り込みするシステム標準食品1件分のデータ。
+ *
+ * @param id       食品ID（新規登録する場合はnull）
+ * @param code     取り込み元での識別コード（食品番号など）
+ * @param name     食品名
+ * @param calories 1単位あたりのカロリー (kcal)
+ * @param unit     単位 (例: "100g")
+ * @param type     食品の種類（通常は "INGREDIENT"）
+ */
+public record CatalogFood(Long id, String code, String name, Integer calories, String unit, String type) {
+
+    /**
+     * 取り込み対象の項目（ID以外）がすべて同じかどうかを判定する。
+     *
+     * @param other 比較対象
+     * @return 更新が不要な場合はtrue
+     */
+    public boolean sameContent(CatalogFood other) {
+        return Objects.equals(name, other.name)
+                && Objects.equals(calories, other.calories)
+                && Objects.equals(unit, other.unit)
+                && Objects.equals(type, other.type);
+    }
+}
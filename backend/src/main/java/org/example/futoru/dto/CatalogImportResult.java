@@ -0,0 +1,25 @@
+package org.example.futoru.dto;
+
+import java.util.List;
+
+/**
+ * システム標準食品の一括取り込み（食品カタログの更新）の結果。
+ *
+ * @param inserted          新規登録した食品数
+ * @param updated           内容が変わり、更新した食品数
+ * @param unchanged         既存の内容と同じため更新しなかった食品数
+ * @param invalid           形式・値が不正なため取り込まなかった行数
+ * @param recalculatedFoods カロリー変更に伴い、カロリーを再計算した料理の数
+ * @param elapsedMillis     所要時間
+ * @param errors            不正な行の内容（先頭から最大 {@code ImportService.MAX_ERROR_MESSAGES} 件）
+ */
+public record CatalogImportResult(
+        int inserted,
+        int updated,
+        int unchanged,
+        int invalid,
+        int recalculatedFoods,
+        long elapsedMillis,
+        List<String> errors
+) {
+}
@@ -0,0 +1,21 @@
+package org.example.futoru.dto;
+
+/**
+ * 食事記録の追加・削除時に返す差分レスポンス。
+ * <p>
+ * 当日の履歴全体を返す {@link FoodUpdateResponse} の代わりに、
+ * 追加・削除された1件と更新後の合計値だけを返す。
+ * クライアントは {@code sequence} が手元の値 + 1 であれば履歴リストをその場で書き換え、
+ * 連番が途切れている（または日付が変わっている）場合は当日分を再取得する。
+ * </p>
+ *
+ * @param operation 操作種別 ("ADD" または "DELETE")
+ * @param entry     追加または削除された食事記録
+ * @param dashboard 更新後のダッシュボード表示用データ
+ * @param progress  更新後のカロリー摂取進捗率（%）
+ * @param date      記録が属する日付 (形式: "yyyy-MM-dd")
+ * @param sequence  その日の更新番号
+ */
+public record FoodDeltaResponse(String operation, MealLogDto entry, DashboardDto dashboard,
+                                int progress, String date, long sequence) {
+}
@@ -0,0 +1,18 @@
+package org.example.futoru.dto;
+
+/**
+ * 食品選択リスト用の軽量な表示データ。
+ * <p>
+ * FoodItem エンティティ（作成ユーザーへの参照を含む）を画面に渡す代わりに、
+ * 一覧表示と記録に必要な項目だけを保持する。
+ * JPQLのコンストラクタ式で直接生成されるため、エンティティの読み込みは発生しない。
+ * </p>
+ *
+ * @param id       食品マスタID
+ * @param name     食品名
+ * @param calories 1単位あたりの基準カロリー (kcal)
+ * @param unit     単位 (例: "個", "人前")
+ * @param type     区分 ("INGREDIENT", "DISH", "MEAL_SET")
+ */
+public record FoodOptionDto(Long id, String name, Integer calories, String unit, String type) {
+}
@@ -2,7 +2,6 @@ package org.example.futoru.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import org.example.futoru.entity.MealLog;
 
 import java.util.List;
 
@@ -33,6 +32,19 @@ public class FoodUpdateResponse {
     /**
      * 更新後の食事履歴リスト。
      * 画面下部の履歴一覧を再描画するために使用する。
+     * エンティティではなく {@link MealLogDto} を返すため、関連するユーザー情報などは含まれない。
      */
-    private List<MealLog> history;
+    private List<MealLogDto> history;
+
+    /**
+     * 履歴が属する日付 (形式: "yyyy-MM-dd")。
+     * 差分レスポンスとの突き合わせに使用する。
+     */
+    private String date;
+
+    /**
+     * その日の更新番号。
+     * 以降の差分レスポンス（{@link FoodDeltaResponse}）の連番チェックの起点となる。
+     */
+    private long sequence;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.example.futoru.dto;
+
+import java.time.LocalDate;
+
+/**
+ * ユーザーが食品マスタから記録した回数の、食品・日付ごとの集計結果。
+ *
+ * @param foodItemId 食品マスタID
+ * @param date       記録日
+ * @param count      その日の記録回数
+ */
+public record FoodUsageCount(Long foodItemId, LocalDate date, long count) {
+}
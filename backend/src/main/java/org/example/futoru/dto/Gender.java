@@ -11,4 +11,21 @@ public enum Gender {
 
     /** 女性 */
     FEMALE;
+
+    /**
+     * DB保存値(String)をGender Enumに変換する。
+     * <p>
+     * nullの場合はMALE、"MALE"（大文字小文字を区別しない）または旧形式の"男性"の場合はMALE、
+     * それ以外はFEMALEを返す。例外やオブジェクト生成を伴わない。
+     * </p>
+     *
+     * @param code DB保存値
+     * @return 対応するGender
+     */
+    public static Gender fromCode(String code) {
+        if (code == null || code.equalsIgnoreCase("MALE") || code.equals("男性")) {
+            return MALE;
+        }
+        return FEMALE;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.example.futoru.dto;
+
+import java.util.List;
+
+/**
+ * 一括登録（インポート）の結果。
+ *
+ * @param imported   登録した件数
+ * @param duplicates 既存の記録（またはファイル内の重複）と重なったため登録しなかった件数
+ * @param invalid    形式・値が不正なため登録しなかった件数
+ * @param errors     不正な行の内容（先頭から最大 {@code ImportService.MAX_ERROR_MESSAGES} 件）
+ */
+public record ImportResult(int imported, int duplicates, int invalid, List<String> errors) {
+}
@@ -0,0 +1,18 @@
+package org.example.futoru.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 食事記録の追加・削除1回分の結果。
+ * <p>
+ * 追加・削除された記録と、それを反映した後の日別集計（合計カロリーと更新番号）を保持する。
+ * 差分レスポンス（{@link FoodDeltaResponse}）の組み立てに使用する。
+ * </p>
+ *
+ * @param entry         追加または削除された食事記録
+ * @param date          記録が属する日付
+ * @param totalCalories 反映後のその日の合計摂取カロリー (kcal)
+ * @param sequence      反映後のその日の更新番号
+ */
+public record MealLogChange(MealLogDto entry, LocalDate date, int totalCalories, long sequence) {
+}
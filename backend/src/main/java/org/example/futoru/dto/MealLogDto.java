@@ -0,0 +1,20 @@
+package org.example.futoru.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 食事記録1件分の表示用データ。
+ * <p>
+ * MealLog エンティティをそのままJSONにすると、関連する User（パスワードハッシュや権限を含む）や
+ * FoodItem まで辿ってシリアライズされてしまう。
+ * このDTOは履歴表示に必要な項目だけを持ち、JPQLのコンストラクタ式で直接生成される。
+ * </p>
+ *
+ * @param id       MealLog ID（削除リクエストに使用）
+ * @param name     記録時点での食品名
+ * @param calories 記録時点での合計カロリー (kcal)
+ * @param amount   摂取量（倍率）
+ * @param eatenAt  食事をした日時
+ */
+public record MealLogDto(Long id, String name, Integer calories, Double amount, LocalDateTime eatenAt) {
+}
@@ -0,0 +1,14 @@
+package org.example.futoru.dto;
+
+/**
+ * カロリーの再計算に必要な、レシピ構成要素1件分のデータ。
+ * JPQLのコンストラクタ式で直接生成される。
+ *
+ * @param parentId       親となる料理（FoodItem）のID
+ * @param childId        材料となる食品のID（手入力の材料はnull）
+ * @param childCalories  材料となる食品の現在の基準カロリー（手入力の材料はnull）
+ * @param manualCalories 手入力のカロリー（マスタ参照の材料はnull）
+ * @param amount         使用量（倍率）
+ */
+public record RecipeComponent(Long parentId, Long childId, Integer childCalories, Integer manualCalories, Double amount) {
+}
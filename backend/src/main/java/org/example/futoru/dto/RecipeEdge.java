@@ -0,0 +1,10 @@
+package org.example.futoru.dto;
+
+/**
+ * レシピの依存関係（親料理 → 材料）の1辺。
+ *
+ * @param parentId 親となる料理（FoodItem）のID
+ * @param childId  材料となる食品（FoodItem）のID
+ */
+public record RecipeEdge(Long parentId, Long childId) {
+}
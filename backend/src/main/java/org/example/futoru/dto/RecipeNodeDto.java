@@ -0,0 +1,29 @@
+package org.example.futoru.dto;
+
+/**
+ * レシピツリーの1ノード（構成要素1件）の表示データ。
+ * <p>
+ * ツリーは親 → 子の深さ優先順に平坦化されており、{@code parentRecipeId} と {@code depth} で階層を表す。
+ * 同じ料理が複数の定食に含まれる場合も、出現位置ごとに別のノードとなる。
+ * </p>
+ *
+ * @param recipeId       構成要素のID
+ * @param parentRecipeId 親ノードの構成要素ID（最上位の材料はnull）
+ * @param depth          階層の深さ（最上位の材料が1）
+ * @param foodItemId     材料となる食品のID（手入力の材料はnull）
+ * @param name           表示名（食品名または手入力の材料名）
+ * @param type           区分 ("INGREDIENT", "DISH", "MEAL_SET"。手入力の材料はnull)
+ * @param amount         使用量（倍率）
+ * @param calories       このノードのカロリー（基準カロリー × 使用量、または手入力のカロリー）
+ */
+public record RecipeNodeDto(
+        Long recipeId,
+        Long parentRecipeId,
+        int depth,
+        Long foodItemId,
+        String name,
+        String type,
+        Double amount,
+        int calories
+) {
+}
@@ -0,0 +1,23 @@
+package org.example.futoru.dto;
+
+import java.util.List;
+
+/**
+ * レシピ（料理・定食）の詳細表示データ。
+ *
+ * @param foodItemId 料理のID
+ * @param name       料理名
+ * @param type       区分 ("DISH" または "MEAL_SET")
+ * @param unit       単位
+ * @param calories   料理の基準カロリー (kcal)
+ * @param nodes      構成要素のツリー（深さ優先順に平坦化したもの）
+ */
+public record RecipeTreeDto(
+        Long foodItemId,
+        String name,
+        String type,
+        String unit,
+        Integer calories,
+        List<RecipeNodeDto> nodes
+) {
+}
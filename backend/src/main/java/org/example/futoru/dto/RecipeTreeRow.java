@@ -0,0 +1,35 @@
+package org.example.futoru.dto;
+
+/**
+ * レシピツリー取得クエリ（再帰CTE）の1行分の射影。
+ * 構成要素（recipes）1件と、その材料となる食品の情報を保持する。
+ */
+public interface RecipeTreeRow {
+
+    /** 構成要素のID */
+    Long getRecipeId();
+
+    /** 親料理のID */
+    Long getParentFoodId();
+
+    /** 材料となる食品のID（手入力の材料はnull） */
+    Long getChildFoodId();
+
+    /** 材料となる食品の名前（手入力の材料はnull） */
+    String getChildName();
+
+    /** 材料となる食品の基準カロリー（手入力の材料はnull） */
+    Integer getChildCalories();
+
+    /** 材料となる食品の区分（手入力の材料はnull） */
+    String getChildType();
+
+    /** 手入力の材料名 */
+    String getManualName();
+
+    /** 手入力のカロリー */
+    Integer getManualCalories();
+
+    /** 使用量（倍率） */
+    Double getAmount();
+}
@@ -0,0 +1,21 @@
+package org.example.futoru.dto;
+
+/**
+ * 目標カロリー一括再計算ジョブの進捗状況。
+ *
+ * @param running        実行中かどうか
+ * @param scannedUsers   読み込んだユーザー数（プロフィールと体重記録が揃っているユーザーのみ）
+ * @param updatedUsers   目標カロリーが変わり、更新したユーザー数
+ * @param elapsedMillis  開始からの経過時間（終了済みの場合は所要時間）
+ * @param usersPerSecond 1秒あたりの処理ユーザー数
+ * @param error          異常終了した場合のエラーメッセージ（正常時はnull）
+ */
+public record TargetRecomputeStatus(
+        boolean running,
+        long scannedUsers,
+        long updatedUsers,
+        long elapsedMillis,
+        double usersPerSecond,
+        String error
+) {
+}
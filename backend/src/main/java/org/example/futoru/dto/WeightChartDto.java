@@ -0,0 +1,13 @@
+package org.example.futoru.dto;
+
+import java.util.List;
+
+/**
+ * 体重推移グラフ（Chart.js）の表示用データ。
+ * ラベルと値は同じ順序・同じ件数で並ぶ。
+ *
+ * @param labels 日付ラベルのリスト（"M/d" 形式。1年を超える期間は "yy/M/d" 形式）
+ * @param values 体重 (kg) のリスト
+ */
+public record WeightChartDto(List<String> labels, List<Double> values) {
+}
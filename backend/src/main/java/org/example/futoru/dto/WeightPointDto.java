@@ -0,0 +1,15 @@
+package org.example.futoru.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 体重グラフ用の軽量な1点分のデータ。
+ * <p>
+ * JPQLのコンストラクタ式で直接生成され、WeightLog エンティティの読み込みを伴わない。
+ * </p>
+ *
+ * @param date   記録日
+ * @param weight 体重 (kg)
+ */
+public record WeightPointDto(LocalDate date, Double weight) {
+}
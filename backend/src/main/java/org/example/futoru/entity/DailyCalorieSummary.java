@@ -0,0 +1,50 @@
+package org.example.futoru.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * ユーザーごと・日付ごとの摂取カロリー集計を保持するエンティティ。
+ * <p>
+ * ダッシュボード表示のたびに当日の MealLog を全件読み込んで合計するのを避けるため、
+ * 食事記録の追加・削除と同じトランザクション内で合計値と件数を更新する。
+ * 1ユーザー1日につき1行となるよう (user_id, date) に一意制約を設けている。
+ * </p>
+ */
+@Entity
+@Table(name = "daily_calorie_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_calorie_summaries_user_date", columnNames = {"user_id", "date"}))
+@Data
+public class DailyCalorieSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 集計対象のユーザー */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** 集計対象の日付 */
+    @Column(nullable = false)
+    private LocalDate date;
+
+    /** その日の合計摂取カロリー (kcal) */
+    @Column(name = "total_calories", nullable = false)
+    private int totalCalories;
+
+    /** その日の食事記録件数 */
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    /**
+     * 更新番号。
+     * 食事記録の追加・削除のたびに1ずつ増える（集計行の作成時が1）。
+     * クライアントはこの値の連番が途切れたことを検知して、当日分を再取得する。
+     */
+    @Column(nullable = false)
+    private long revision;
+}
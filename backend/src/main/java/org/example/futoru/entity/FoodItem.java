@@ -8,7 +8,9 @@ import lombok.Data;
  * ユーザーが食事記録をつける際に参照する「食品の辞書」となるデータ。
  */
 @Entity
-@Table(name = "food_items")
+@Table(name = "food_items",
+        indexes = @Index(name = "idx_food_items_user", columnList = "user_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_food_items_code", columnNames = "code"))
 @Data
 public class FoodItem {
 
@@ -25,6 +27,13 @@ public class FoodItem {
     @JoinColumn(name = "user_id")
     private User user;
 
+    /**
+     * 食品成分表などの取り込み元での識別コード（例: 食品番号 "01083"）。
+     * 一括取り込みしたシステム標準食品のみ値を持ち、取り込み時に既存の行と突き合わせるキーとなる。
+     */
+    @Column(length = 64)
+    private String code;
+
     /** 食品名 (例: 白米, 鶏胸肉) */
     private String name;
 
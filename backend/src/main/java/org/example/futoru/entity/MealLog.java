@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
  * </p>
  */
 @Entity
-@Table(name = "meal_logs")
+@Table(name = "meal_logs",
+        indexes = @Index(name = "idx_meal_logs_user_eaten_at", columnList = "user_id, eaten_at, calories"))
 @Data
 public class MealLog {
 
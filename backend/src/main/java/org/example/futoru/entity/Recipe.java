@@ -13,7 +13,8 @@ import lombok.Data;
  * </p>
  */
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes",
+        indexes = @Index(name = "idx_recipes_child_parent", columnList = "child_food_id, parent_food_id"))
 @Data
 public class Recipe {
 
@@ -1,7 +1,11 @@
 package org.example.futoru.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.Gender;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -55,6 +59,52 @@ public class User implements UserDetails {
      */
     private Integer targetCalories;
 
+    /**
+     * {@link #gender} を変換済みの値。
+     * BMR計算のたびに文字列を解析しないよう、読み込み時・設定時に解決しておく。
+     */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private Gender genderType = Gender.fromCode(null);
+
+    /**
+     * {@link #activityLevel} を変換済みの値。
+     * BMR計算のたびに文字列を解析しないよう、読み込み時・設定時に解決しておく。
+     */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private ActivityLevel activityLevelType = ActivityLevel.fromCode(null);
+
+    /**
+     * 性別を設定し、変換済みの値も更新する。
+     *
+     * @param gender 性別 ("MALE" または "FEMALE")
+     */
+    public void setGender(String gender) {
+        this.gender = gender;
+        this.genderType = Gender.fromCode(gender);
+    }
+
+    /**
+     * 活動レベルを設定し、変換済みの値も更新する。
+     *
+     * @param activityLevel 活動レベル ("LOW", "MID", "HIGH")
+     */
+    public void setActivityLevel(String activityLevel) {
+        this.activityLevel = activityLevel;
+        this.activityLevelType = ActivityLevel.fromCode(activityLevel);
+    }
+
+    /**
+     * DBから読み込んだ直後に、性別・活動レベルの変換済みの値を解決する。
+     * フィールドアクセスのため、読み込み時には上記のsetterが呼ばれないことに対応する。
+     */
+    @PostLoad
+    void resolveBodyAttributes() {
+        this.genderType = Gender.fromCode(gender);
+        this.activityLevelType = ActivityLevel.fromCode(activityLevel);
+    }
+
     /**
      * ユーザーに付与された権限リストを返却する。
      *
@@ -10,11 +10,13 @@ import java.time.LocalDate;
  * <p>
  * データベースの weight_logs テーブルに対応し、
  * ユーザーの日々の体重変化を記録・保持する。
+ * 1ユーザー1日につき1件となるよう (user_id, date) に一意制約を設けている。
  * </p>
  */
 @Entity
 @Data
-@Table(name = "weight_logs")
+@Table(name = "weight_logs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_weight_logs_user_date", columnNames = {"user_id", "date"}))
 public class WeightLog {
 
     @Id
@@ -0,0 +1,132 @@
+package org.example.futoru.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 日別カロリー集計(DailyCalorieSummary)へのデータベースアクセスを行うリポジトリ。
+ */
+public interface DailyCalorieSummaryRepository extends JpaRepository<DailyCalorieSummary, Long> {
+
+    /** 指定されたユーザーと日付の集計行を取得する（ダッシュボード表示用）。 */
+    Optional<DailyCalorieSummary> findByUserAndDate(User user, LocalDate date);
+
+    /**
+     * 指定されたユーザーと日付の集計行が存在するか判定する（ロックを取得しない通常の読み取り）。
+     * <p>
+     * 存在しない行に対して {@link #findForUpdate} を実行すると、InnoDB では隙間ロックが取得され、
+     * 同じ日の最初の記録が同時に行われた場合にデッドロックになる。そのため作成前の確認にはこちらを使う。
+     * エンティティを読み込まないため、直後の {@link #findForUpdate} で最新の値が取得される。
+     * </p>
+     */
+    boolean existsByUserAndDate(User user, LocalDate date);
+
+    /**
+     * 指定されたユーザーと日付の集計行を、更新用に行ロックを取得して読み込む。
+     * <p>
+     * 同一ユーザーが連続して食事を記録した場合でも、合計値の加算が失われないようにするために使用する。
+     * </p>
+     *
+     * @param user 対象ユーザー
+     * @param date 対象日
+     * @return ロック済みの集計行（未作成の場合はEmpty）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DailyCalorieSummary s WHERE s.user = :user AND s.date = :date")
+    Optional<DailyCalorieSummary> findForUpdate(@Param("user") User user, @Param("date") LocalDate date);
+
+    /**
+     * 集計行が存在しない場合だけ、指定した値で作成する（既にある場合は何もしない）。
+     * <p>
+     * 同じ日の最初の記録が同時に行われた場合、後から実行した側は先の INSERT の確定を待ってから何もせずに終わるため、
+     * 一意制約違反にならない。ロックを伴う読み取りの前に実行し、作成後に {@link #findForUpdate} で行ロックを取得して差分を加算する。
+     * </p>
+     *
+     * @param userId        対象ユーザーのID
+     * @param date          対象日
+     * @param totalCalories 作成時の合計カロリー
+     * @param entryCount    作成時の件数
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO daily_calorie_summaries (user_id, date, total_calories, entry_count, revision)
+            VALUES (:userId, :date, :totalCalories, :entryCount, 0)
+            ON DUPLICATE KEY UPDATE user_id = user_id
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("userId") Long userId, @Param("date") LocalDate date,
+                        @Param("totalCalories") int totalCalories, @Param("entryCount") int entryCount);
+
+    /**
+     * 指定期間の日別カロリー集計を meal_logs から作り直す（一括登録後の再集計用）。
+     * <p>
+     * 記録がある日の集計行を作成してから（{@link #insertMissingInRange}）、期間内の集計行の合計値・件数を上書きし、
+     * 更新番号を進める（{@link #refreshInRange}。開いている画面は連番の途切れを検知して当日分を再取得する）。
+     * 集計値を {@code ON DUPLICATE KEY UPDATE} で直接上書きするには {@code VALUES()} 関数（非推奨）か
+     * 派生テーブルの列の参照が必要になり、後者はテストで使う H2 が解釈できないため、2文に分けている。
+     * 呼び出し元のトランザクション内で実行すること。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @param start  期間の開始日時（日の始まり。この日時を含む）
+     * @param end    期間の終了日時（日の始まり。この日時を含まない）
+     * @return 再集計した集計行の数
+     */
+    default int rebuildRange(Long userId, LocalDateTime start, LocalDateTime end) {
+        insertMissingInRange(userId, start, end);
+        return refreshInRange(userId, start.toLocalDate(), end.toLocalDate());
+    }
+
+    /**
+     * 指定期間に食事記録がある日のうち、集計行がない日の集計行を値0で作成する（{@link #rebuildRange} 用）。
+     *
+     * @param userId 対象ユーザーのID
+     * @param start  期間の開始日時（この日時を含む）
+     * @param end    期間の終了日時（この日時を含まない）
+     * @return 影響を受けた行数
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO daily_calorie_summaries (user_id, date, total_calories, entry_count, revision)
+            SELECT d.owner_id, d.meal_date, 0, 0, 0
+            FROM (
+                SELECT DISTINCT m.user_id AS owner_id, CAST(m.eaten_at AS DATE) AS meal_date
+                FROM meal_logs m
+                WHERE m.user_id = :userId AND m.eaten_at >= :start AND m.eaten_at < :end
+            ) d
+            ON DUPLICATE KEY UPDATE revision = revision
+            """, nativeQuery = true)
+    int insertMissingInRange(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * 指定期間の集計行の合計値・件数を meal_logs から集計し直し、更新番号を進める（{@link #rebuildRange} 用）。
+     * 各行の集計は (user_id, eaten_at) のインデックスでその日の記録だけを読む。
+     *
+     * @param userId    対象ユーザーのID
+     * @param startDate 期間の開始日（この日を含む）
+     * @param endDate   期間の終了日（この日を含まない）
+     * @return 更新した行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE daily_calorie_summaries s
+            SET total_calories = (
+                    SELECT COALESCE(SUM(m.calories), 0) FROM meal_logs m
+                    WHERE m.user_id = s.user_id AND m.eaten_at >= s.date AND m.eaten_at < TIMESTAMPADD(DAY, 1, s.date)),
+                entry_count = (
+                    SELECT COUNT(*) FROM meal_logs m
+                    WHERE m.user_id = s.user_id AND m.eaten_at >= s.date AND m.eaten_at < TIMESTAMPADD(DAY, 1, s.date)),
+                revision = s.revision + 1
+            WHERE s.user_id = :userId AND s.date >= :startDate AND s.date < :endDate
+            """, nativeQuery = true)
+    int refreshInRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
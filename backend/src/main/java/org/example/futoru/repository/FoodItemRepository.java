@@ -1,7 +1,8 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.CatalogFood;
+import org.example.futoru.dto.FoodOptionDto;
 import org.example.futoru.entity.FoodItem;
-import org.example.futoru.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,29 +11,37 @@ import java.util.List;
 
 /**
  * 食品マスタデータ(FoodItem)へのデータベースアクセスを行うリポジトリ。
+ * システム標準食品の一括登録・更新は {@link FoodItemRepositoryCustom} で提供する。
  */
-public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
+public interface FoodItemRepository extends JpaRepository<FoodItem, Long>, FoodItemRepositoryCustom {
 
     /**
-     * 指定されたユーザーが利用可能なすべての食品リストを取得する。
-     * <p>
-     * 以下の2パターンのデータを結合して取得するカスタムクエリ：
-     * 1. ユーザー自身が登録した「My食品」 (f.user = :user)
-     * 2. 全ユーザー共通の「システム標準食品」 (f.user IS NULL)
-     * </p>
+     * システム標準食品（user IS NULL）を軽量DTOとして取得する。
+     * 食品カタログキャッシュ（FoodCatalogCache）の共有スナップショット構築に使用する。
      *
-     * @param user 対象のユーザーエンティティ
-     * @return 利用可能な食品のリスト
+     * @return ID昇順のシステム標準食品リスト
      */
-    @Query("SELECT f FROM FoodItem f WHERE f.user = :user OR f.user IS NULL")
-    List<FoodItem> findAllAvailable(@Param("user") User user);
+    @Query("SELECT new org.example.futoru.dto.FoodOptionDto(f.id, f.name, f.calories, f.unit, f.type) "
+            + "FROM FoodItem f WHERE f.user IS NULL ORDER BY f.id")
+    List<FoodOptionDto> findSystemFoodOptions();
 
     /**
-     * 特定のユーザーが独自に作成した食品（My食品）のみを検索する。
-     * システム標準の食品は含まれない。
+     * 指定されたユーザーのMy食品を軽量DTOとして取得する。
+     * ユーザー情報の結合は行わず、外部キーのみで絞り込む。
      *
-     * @param user 対象のユーザーエンティティ
-     * @return そのユーザーが所有する食品リスト
+     * @param userId 対象ユーザーのID
+     * @return ID昇順のMy食品リスト
      */
-    List<FoodItem> findByUser(User user);
-}
\ No newline at end of file
+    @Query("SELECT new org.example.futoru.dto.FoodOptionDto(f.id, f.name, f.calories, f.unit, f.type) "
+            + "FROM FoodItem f WHERE f.user.id = :userId ORDER BY f.id")
+    List<FoodOptionDto> findFoodOptionsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 識別コードを持つシステム標準食品を取得する（食品カタログ取り込み時の突き合わせ用）。
+     *
+     * @return 識別コードを持つシステム標準食品のリスト
+     */
+    @Query("SELECT new org.example.futoru.dto.CatalogFood(f.id, f.code, f.name, f.calories, f.unit, f.type) "
+            + "FROM FoodItem f WHERE f.user IS NULL AND f.code IS NOT NULL")
+    List<CatalogFood> findSystemCatalog();
+}
@@ -0,0 +1,25 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.dto.CatalogFood;
+
+import java.util.List;
+
+/**
+ * {@link FoodItemRepository} に追加する、JPAを経由しない一括操作。
+ */
+public interface FoodItemRepositoryCustom {
+
+    /**
+     * システム標準食品（user_id が NULL）をまとめて登録する（JDBCバッチ）。
+     *
+     * @param foods 登録する食品（IDは使用しない）
+     */
+    void insertSystemFoods(List<CatalogFood> foods);
+
+    /**
+     * システム標準食品の名前・カロリー・単位・種類をIDを指定してまとめて更新する（JDBCバッチ）。
+     *
+     * @param foods 更新する食品（IDが必須）
+     */
+    void updateSystemFoods(List<CatalogFood> foods);
+}
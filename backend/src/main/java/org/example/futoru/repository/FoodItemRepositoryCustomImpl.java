@@ -0,0 +1,56 @@
+package org.example.futoru.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.CatalogFood;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * {@link FoodItemRepositoryCustom} の実装クラス。
+ */
+@RequiredArgsConstructor
+class FoodItemRepositoryCustomImpl implements FoodItemRepositoryCustom {
+
+    private static final String INSERT_SYSTEM_FOOD = """
+            INSERT INTO food_items (user_id, code, name, calories, unit, type)
+            VALUES (NULL, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_SYSTEM_FOOD = """
+            UPDATE food_items SET name = ?, calories = ?, unit = ?, type = ?
+            WHERE id = ? AND user_id IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertSystemFoods(List<CatalogFood> foods) {
+        if (foods.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SYSTEM_FOOD, foods, foods.size(), (ps, food) -> {
+            ps.setString(1, food.code());
+            ps.setString(2, food.name());
+            ps.setInt(3, food.calories());
+            ps.setString(4, food.unit());
+            ps.setString(5, food.type());
+        });
+    }
+
+    @Override
+    public void updateSystemFoods(List<CatalogFood> foods) {
+        if (foods.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SYSTEM_FOOD, foods, foods.size(), (ps, food) -> {
+            ps.setString(1, food.name());
+            ps.setInt(2, food.calories());
+            ps.setString(3, food.unit());
+            ps.setString(4, food.type());
+            ps.setLong(5, food.id());
+        });
+    }
+}
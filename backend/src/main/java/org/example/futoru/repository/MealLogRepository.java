@@ -1,16 +1,21 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.FoodUsageCount;
+import org.example.futoru.dto.MealLogDto;
 import org.example.futoru.entity.MealLog;
 import org.example.futoru.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * 食事記録データ(MealLog)へのデータベースアクセスを行うリポジトリ。
+ * 一括登録は {@link MealLogRepositoryCustom} で提供する。
  */
-public interface MealLogRepository extends JpaRepository<MealLog, Long> {
+public interface MealLogRepository extends JpaRepository<MealLog, Long>, MealLogRepositoryCustom {
 
     /**
      * 指定されたユーザーの、指定期間内における食事記録を検索する。
@@ -22,4 +27,56 @@ public interface MealLogRepository extends JpaRepository<MealLog, Long> {
      * @return 指定期間内に記録された食事ログのリスト
      */
     List<MealLog> findByUserAndEatenAtBetween(User user, LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    /**
+     * 指定期間内の食事記録を、表示用の軽量DTOとして記録日時の昇順で取得する。
+     * <p>
+     * エンティティを経由しないため、User や FoodItem の読み込みは発生しない。
+     * 画面表示やAPIレスポンスではこちらを使用する。
+     * </p>
+     *
+     * @param user  検索対象のユーザー
+     * @param start 検索開始日時
+     * @param end   検索終了日時
+     * @return 指定期間内の食事記録DTOのリスト
+     */
+    @Query("SELECT new org.example.futoru.dto.MealLogDto(m.id, m.name, m.calories, m.amount, m.eatenAt) "
+            + "FROM MealLog m WHERE m.user = :user AND m.eatenAt BETWEEN :start AND :end ORDER BY m.eatenAt, m.id")
+    List<MealLogDto> findDtosByUserAndEatenAtBetween(@Param("user") User user,
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+
+    /**
+     * 指定期間内の食事記録の合計カロリーを集計する。
+     * <p>
+     * 日別集計行（DailyCalorieSummary）がまだ存在しない日の初期値を求めるために使用する。
+     * </p>
+     *
+     * @param user  検索対象のユーザー
+     * @param start 検索開始日時
+     * @param end   検索終了日時
+     * @return 合計カロリー（記録がない場合は0）
+     */
+    @Query("SELECT COALESCE(SUM(m.calories), 0) FROM MealLog m WHERE m.user = :user AND m.eatenAt BETWEEN :start AND :end")
+    long sumCaloriesByUserAndEatenAtBetween(@Param("user") User user,
+                                            @Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end);
+
+    /** 指定期間内の食事記録の件数を取得する（日別集計行の初期化用）。 */
+    long countByUserAndEatenAtBetween(User user, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * 指定ユーザーが食品マスタから記録した回数を、食品・日付ごとに集計する。
+     * <p>
+     * 食品検索の並び順や「よく使う食品」の初期値として、ユーザーごとに1回だけ使用する。
+     * 以降の記録はメモリ上で加算されるため、リクエストごとにこの集計を行うことはない。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @return 食品・日付ごとの記録回数
+     */
+    @Query("SELECT new org.example.futoru.dto.FoodUsageCount(m.foodItem.id, CAST(m.eatenAt AS LocalDate), COUNT(m)) "
+            + "FROM MealLog m WHERE m.user.id = :userId AND m.foodItem IS NOT NULL "
+            + "GROUP BY m.foodItem.id, CAST(m.eatenAt AS LocalDate)")
+    List<FoodUsageCount> countFoodUsageByUserId(@Param("userId") Long userId);
+}
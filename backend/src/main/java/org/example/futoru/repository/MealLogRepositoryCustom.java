@@ -0,0 +1,39 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.entity.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link MealLogRepository} に追加する、JPAを経由しない一括操作と、エクスポート用のストリーム読み込み。
+ */
+public interface MealLogRepositoryCustom {
+
+    /**
+     * 手入力扱い（食品マスタへの参照なし）の食事記録をまとめて登録する（JDBCバッチ）。
+     * <p>
+     * 日別カロリー集計は更新しないため、登録後に
+     * {@link DailyCalorieSummaryRepository#rebuildRange} で集計し直すこと。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @param meals  登録する食事記録（IDは使用しない）
+     */
+    void insertAll(Long userId, List<MealLogDto> meals);
+
+    /**
+     * 指定されたユーザーの全食事記録を、記録日時の昇順でストリームとして取得する（エクスポート用）。
+     * <p>
+     * MySQL では結果を1行ずつ受信し、エンティティも生成しないため、件数に関わらずメモリ使用量は一定となる
+     * （{@link ResultStreaming#stream} を参照）。
+     * 読み込み中は同じコネクションで他のクエリを実行できないため、トランザクション内で呼び出し、
+     * 使用後は必ずクローズすること。
+     * </p>
+     *
+     * @param user 対象ユーザー
+     * @return 記録日時昇順の食事記録DTOのストリーム
+     */
+    Stream<MealLogDto> streamDtosByUser(User user);
+}
@@ -0,0 +1,52 @@
+package org.example.futoru.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link MealLogRepositoryCustom} の実装クラス。
+ */
+@RequiredArgsConstructor
+class MealLogRepositoryCustomImpl implements MealLogRepositoryCustom {
+
+    private static final String INSERT_MEAL = """
+            INSERT INTO meal_logs (user_id, food_item_id, name, calories, amount, eaten_at)
+            VALUES (?, NULL, ?, ?, ?, ?)
+            """;
+
+    private static final String STREAM_DTOS_BY_USER = """
+            SELECT new org.example.futoru.dto.MealLogDto(m.id, m.name, m.calories, m.amount, m.eatenAt)
+            FROM MealLog m WHERE m.user = :user ORDER BY m.eatenAt, m.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(Long userId, List<MealLogDto> meals) {
+        if (meals.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_MEAL, meals, meals.size(), (ps, meal) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, meal.name());
+            ps.setInt(3, meal.calories());
+            ps.setDouble(4, meal.amount());
+            ps.setTimestamp(5, Timestamp.valueOf(meal.eatenAt()));
+        });
+    }
+
+    @Override
+    public Stream<MealLogDto> streamDtosByUser(User user) {
+        return ResultStreaming.stream(entityManager,
+                entityManager.createQuery(STREAM_DTOS_BY_USER, MealLogDto.class).setParameter("user", user));
+    }
+}
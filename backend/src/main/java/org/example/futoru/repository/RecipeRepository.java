@@ -1,11 +1,71 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.RecipeComponent;
+import org.example.futoru.dto.RecipeEdge;
+import org.example.futoru.dto.RecipeTreeRow;
 import org.example.futoru.entity.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * レシピ構成データ(Recipe)へのデータベースアクセスを行うリポジトリ。
  * 料理と食材の結びつき情報の検索に使用する。
+ * 構成要素の一括登録は {@link RecipeRepositoryCustom} で提供する。
  */
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
-}
\ No newline at end of file
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeRepositoryCustom {
+
+    /**
+     * 指定された食品を材料に含む親料理との依存関係を取得する（1階層分）。
+     * recipes (child_food_id, parent_food_id) のインデックスのみで完結する。
+     *
+     * @param childIds 材料となる食品のIDリスト
+     * @return 親料理 → 材料 の辺のリスト
+     */
+    @Query("SELECT DISTINCT new org.example.futoru.dto.RecipeEdge(r.parentFood.id, r.childFood.id) "
+            + "FROM Recipe r WHERE r.childFood.id IN :childIds")
+    List<RecipeEdge> findEdgesByChildIds(@Param("childIds") Collection<Long> childIds);
+
+    /**
+     * 指定された親料理の構成要素を、材料の現在のカロリーとともに取得する。
+     *
+     * @param parentIds 親料理のIDリスト
+     * @return 構成要素のリスト
+     */
+    @Query("SELECT new org.example.futoru.dto.RecipeComponent(r.parentFood.id, c.id, c.calories, r.manualCalories, r.amount) "
+            + "FROM Recipe r LEFT JOIN r.childFood c WHERE r.parentFood.id IN :parentIds")
+    List<RecipeComponent> findComponentsByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    /**
+     * 指定された料理から到達できるすべての構成要素を、材料となる食品の情報とともに取得する。
+     * <p>
+     * 再帰CTEで定食 → 料理 → 食材の階層をたどるため、階層の深さに関わらずクエリは1回となる。
+     * UNION（重複除去）で結合するため、同じ料理が複数回含まれていても構成要素は1回だけ返され、
+     * 万一データに循環があっても再帰は終了する。
+     * </p>
+     *
+     * @param rootId 起点となる料理のID
+     * @return 構成要素のリスト（構成要素ID順）
+     */
+    @Query(value = """
+            WITH RECURSIVE tree (id, parent_food_id, child_food_id, manual_name, manual_calories, amount) AS (
+                SELECT r.id, r.parent_food_id, r.child_food_id, r.manual_name, r.manual_calories, r.amount
+                FROM recipes r
+                WHERE r.parent_food_id = :rootId
+                UNION
+                SELECT r.id, r.parent_food_id, r.child_food_id, r.manual_name, r.manual_calories, r.amount
+                FROM recipes r
+                JOIN tree t ON r.parent_food_id = t.child_food_id
+            )
+            SELECT t.id AS recipeId, t.parent_food_id AS parentFoodId, t.child_food_id AS childFoodId,
+                   f.name AS childName, f.calories AS childCalories, f.type AS childType,
+                   t.manual_name AS manualName, t.manual_calories AS manualCalories, t.amount AS amount
+            FROM tree t
+            LEFT JOIN food_items f ON f.id = t.child_food_id
+            ORDER BY t.id
+            """, nativeQuery = true)
+    List<RecipeTreeRow> findTreeRows(@Param("rootId") Long rootId);
+}
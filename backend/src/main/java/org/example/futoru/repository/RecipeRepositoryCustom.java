@@ -0,0 +1,24 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.entity.Recipe;
+
+import java.util.List;
+
+/**
+ * {@link RecipeRepository} に追加する、JPAを経由しない一括操作。
+ */
+public interface RecipeRepositoryCustom {
+
+    /**
+     * レシピの構成要素をまとめて登録する。
+     * <p>
+     * Recipe は IDENTITY 採番のため、{@code saveAll} では1件ずつ INSERT が発行される。
+     * このメソッドは JDBC バッチで送信するため、{@code rewriteBatchedStatements=true} の場合は
+     * 件数に関わらず1回の複数行 INSERT となる。
+     * 登録した Recipe には ID が設定されず、永続化コンテキストにも追加されない。
+     * </p>
+     *
+     * @param recipes 登録する構成要素（親料理は登録済みであること）
+     */
+    void insertAll(List<Recipe> recipes);
+}
@@ -0,0 +1,45 @@
+package org.example.futoru.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.entity.Recipe;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * {@link RecipeRepositoryCustom} の実装クラス。
+ */
+@RequiredArgsConstructor
+class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+
+    private static final String INSERT_RECIPE = """
+            INSERT INTO recipes (parent_food_id, child_food_id, manual_name, manual_calories, amount)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Recipe> recipes) {
+        if (recipes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_RECIPE, recipes, recipes.size(), (ps, recipe) -> {
+            ps.setLong(1, recipe.getParentFood().getId());
+            if (recipe.getChildFood() != null) {
+                ps.setLong(2, recipe.getChildFood().getId());
+            } else {
+                ps.setNull(2, Types.BIGINT);
+            }
+            ps.setString(3, recipe.getManualName());
+            if (recipe.getManualCalories() != null) {
+                ps.setInt(4, recipe.getManualCalories());
+            } else {
+                ps.setNull(4, Types.INTEGER);
+            }
+            ps.setDouble(5, recipe.getAmount());
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.futoru.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * エクスポート用のクエリ結果を、件数に関わらず一定のメモリで読み込むためのユーティリティ。
+ */
+final class ResultStreaming {
+
+    private ResultStreaming() {
+    }
+
+    /**
+     * クエリを読み取り専用のストリームとして実行する。
+     * <p>
+     * MySQL の場合はフェッチサイズに {@code Integer.MIN_VALUE} を指定し、Connector/J に結果を1行ずつ受信させる
+     * （指定しない場合、ドライバーは結果全体をメモリに読み込む）。この値は Connector/J 固有の指定で、
+     * 他のドライバー（テストで使う H2 など）は負のフェッチサイズを不正値として拒否するため、MySQL 以外では指定しない。
+     * </p>
+     *
+     * @param entityManager クエリを生成したエンティティマネージャー
+     * @param query         実行するクエリ
+     * @return 結果のストリーム（使用後は必ずクローズすること）
+     */
+    static <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query) {
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (isMySql(entityManager)) {
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, Integer.MIN_VALUE);
+        }
+        return query.getResultStream();
+    }
+
+    private static boolean isMySql(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+    }
+}
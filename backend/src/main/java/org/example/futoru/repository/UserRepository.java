@@ -2,6 +2,9 @@ package org.example.futoru.repository;
 
 import org.example.futoru.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -21,4 +24,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 該当するユーザーのOptional（存在しない場合はEmpty）
      */
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * 目標カロリーだけを1文で更新する。
+     * <p>
+     * エンティティを読み込んでから保存する（SELECT + UPDATE）代わりに、UPDATE のみを発行する。
+     * 実行後は永続化コンテキストをクリアし、古い状態の User が同じトランザクション内で使われないようにする。
+     * </p>
+     *
+     * @param id             対象ユーザーのID
+     * @param targetCalories 新しい目標カロリー値
+     * @return 更新された行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.targetCalories = :targetCalories WHERE u.id = :id")
+    int updateTargetCalories(@Param("id") Long id, @Param("targetCalories") int targetCalories);
+}
@@ -1,10 +1,15 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.WeightPointDto;
 import org.example.futoru.entity.User;
 import org.example.futoru.entity.WeightLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +20,7 @@ import java.util.Optional;
  * グラフ表示や重複チェックに必要なクエリメソッドを定義する。
  * </p>
  */
-public interface WeightLogRepository extends JpaRepository<WeightLog, Long> {
+public interface WeightLogRepository extends JpaRepository<WeightLog, Long>, WeightLogRepositoryCustom {
 
     /** 指定されたユーザーの体重記録を日付の昇順で取得する（グラフ表示用）。 */
     List<WeightLog> findByUserOrderByDateAsc(User user);
@@ -25,4 +30,50 @@ public interface WeightLogRepository extends JpaRepository<WeightLog, Long> {
 
     /** 最新の体重を取得（日付の新しい順に並べて、最初の1件を取る）。 */
     Optional<WeightLog> findFirstByUserOrderByDateDesc(User user);
-}
\ No newline at end of file
+
+    /**
+     * 指定されたユーザー・日付の体重を1文で登録または上書きする。
+     * <p>
+     * (user_id, date) の一意制約を利用した MySQL の {@code INSERT ... ON DUPLICATE KEY UPDATE} を使用する。
+     * 事前の存在チェックが不要になり、同じ日付への同時送信でも重複行が作られない。
+     * 更新値は {@code VALUES()} 関数（MySQL 8.0.20 で非推奨）ではなくパラメータで指定する
+     * （行エイリアス {@code AS new} はテストで使う H2 が解釈できないため）。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @param date   記録日
+     * @param weight 体重 (kg)
+     * @return 影響を受けた行数（MySQLでは新規作成時1、更新時2、値が同じ場合0）
+     */
+    @Modifying
+    @Query(value = "INSERT INTO weight_logs (user_id, date, weight) VALUES (:userId, :date, :weight) "
+            + "ON DUPLICATE KEY UPDATE weight = :weight", nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("weight") Double weight);
+
+    /**
+     * 指定されたユーザーの体重記録を、日付と体重だけの軽量DTOとして日付の昇順で取得する（グラフ表示用）。
+     *
+     * @param user 対象ユーザー
+     * @param from 取得開始日（nullの場合は制限なし）
+     * @param to   取得終了日（nullの場合は制限なし）
+     * @return 日付昇順の体重データ
+     */
+    @Query("SELECT new org.example.futoru.dto.WeightPointDto(w.date, w.weight) FROM WeightLog w "
+            + "WHERE w.user = :user "
+            + "AND (:from IS NULL OR w.date >= :from) "
+            + "AND (:to IS NULL OR w.date <= :to) "
+            + "ORDER BY w.date")
+    List<WeightPointDto> findChartPoints(@Param("user") User user,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    /**
+     * 指定された日付のうち、既に体重記録が存在する日付を取得する（一括登録時の重複チェック用）。
+     *
+     * @param userId 対象ユーザーのID
+     * @param dates  確認する日付
+     * @return 記録が存在する日付
+     */
+    @Query("SELECT w.date FROM WeightLog w WHERE w.user.id = :userId AND w.date IN :dates")
+    List<LocalDate> findExistingDates(@Param("userId") Long userId, @Param("dates") Collection<LocalDate> dates);
+}
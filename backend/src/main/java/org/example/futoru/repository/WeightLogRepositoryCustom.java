@@ -0,0 +1,35 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.entity.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link WeightLogRepository} に追加する、JPAを経由しない一括操作と、エクスポート用のストリーム読み込み。
+ */
+public interface WeightLogRepositoryCustom {
+
+    /**
+     * 体重記録をまとめて登録する（JDBCバッチ）。
+     * 同じユーザー・日付の記録が既に存在しないことは、呼び出し側で確認しておくこと。
+     *
+     * @param userId 対象ユーザーのID
+     * @param points 登録する日付と体重
+     */
+    void insertAll(Long userId, List<WeightPointDto> points);
+
+    /**
+     * 指定されたユーザーの全体重記録を、日付の昇順でストリームとして取得する（エクスポート用）。
+     * <p>
+     * MySQL では結果を1行ずつ受信するため、件数に関わらずメモリ使用量は一定となる（{@link ResultStreaming#stream} を参照）。
+     * 読み込み中は同じコネクションで他のクエリを実行できないため、トランザクション内で呼び出し、
+     * 使用後は必ずクローズすること。
+     * </p>
+     *
+     * @param user 対象ユーザー
+     * @return 日付昇順の体重データのストリーム
+     */
+    Stream<WeightPointDto> streamPointsByUser(User user);
+}
@@ -0,0 +1,47 @@
+package org.example.futoru.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@link WeightLogRepositoryCustom} の実装クラス。
+ */
+@RequiredArgsConstructor
+class WeightLogRepositoryCustomImpl implements WeightLogRepositoryCustom {
+
+    private static final String INSERT_WEIGHT = "INSERT INTO weight_logs (user_id, date, weight) VALUES (?, ?, ?)";
+
+    private static final String STREAM_POINTS_BY_USER = """
+            SELECT new org.example.futoru.dto.WeightPointDto(w.date, w.weight)
+            FROM WeightLog w WHERE w.user = :user ORDER BY w.date
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public void insertAll(Long userId, List<WeightPointDto> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_WEIGHT, points, points.size(), (ps, point) -> {
+            ps.setLong(1, userId);
+            ps.setDate(2, Date.valueOf(point.date()));
+            ps.setDouble(3, point.weight());
+        });
+    }
+
+    @Override
+    public Stream<WeightPointDto> streamPointsByUser(User user) {
+        return ResultStreaming.stream(entityManager,
+                entityManager.createQuery(STREAM_POINTS_BY_USER, WeightPointDto.class).setParameter("user", user));
+    }
+}
@@ -38,6 +38,7 @@ public class BmrService {
      * <p>
      * データの取得（DBアクセス）は呼び出し元で行い、このメソッドには
      * 確定した User エンティティと 現在の体重 を渡すこと。
+     * 性別・活動レベルは User 側で変換済みの値を使うため、DTOの生成や文字列の解析は行わない。
      * </p>
      *
      * @param user          ユーザーエンティティ
@@ -52,17 +53,8 @@ public class BmrService {
             throw new IllegalStateException("プロフィール情報（身長・年齢）が不足しています。ユーザー: " + user.getUsername());
         }
 
-        // 計算用リクエストDTOの構築
-        BmrRequest request = new BmrRequest();
-        request.setHeight(user.getHeight());
-        request.setWeight(currentWeight);
-        request.setAge(user.getAge());
-        request.setGender(convertGender(user.getGender()));
-        request.setActivityLevel(convertActivityLevel(user.getActivityLevel()));
-
-        BmrResponse response = calculate(request);
-
-        return (int) response.getTargetCalories();
+        return targetCalories(currentWeight, user.getHeight(), user.getAge(),
+                user.getGenderType(), user.getActivityLevelType());
     }
 
     /**
@@ -72,38 +64,61 @@ public class BmrService {
      * <li>TDEE (総エネルギー消費量)</li>
      * <li>Target Calories (増量用目標カロリー)</li>
      * </ul>
+     * 計算自体はプリミティブ引数の静的メソッドに委譲する。
      *
      * @param request 計算用パラメータ (身長, 体重, 年齢, 性別, 活動レベル)
      * @return 計算結果を含むレスポンスDTO
      */
     public BmrResponse calculate(BmrRequest request) {
-        double bmr = calculateBmr(request);
-        double tdee = calculateTdee(bmr, request.getActivityLevel());
+        double bmr = bmr(request.getWeight(), request.getHeight(), request.getAge(), request.getGender());
+        double tdee = tdee(bmr, request.getActivityLevel());
         double targetCalories = tdee + SURPLUS_CALORIES_FOR_GAIN;
 
         BmrResponse response = new BmrResponse();
         // 表示用に小数点第1位で四捨五入を行う
-        response.setBmr(Math.round(bmr * 10.0) / 10.0);
-        response.setTdee(Math.round(tdee * 10.0) / 10.0);
-        response.setTargetCalories(Math.round(targetCalories * 10.0) / 10.0);
+        response.setBmr(roundToTenth(bmr));
+        response.setTdee(roundToTenth(tdee));
+        response.setTargetCalories(roundToTenth(targetCalories));
 
         return response;
     }
 
+    /**
+     * 身体データから1日の目標摂取カロリーを計算する。
+     * <p>
+     * {@link #calculate(BmrRequest)} の目標カロリーを整数に切り捨てた値と同じ結果を返す。
+     * オブジェクトを生成しないため、体重保存やプロフィール更新のたびに呼ばれる経路で使用する。
+     * </p>
+     *
+     * @param weightKg      体重 (kg)
+     * @param heightCm      身長 (cm)
+     * @param age           年齢
+     * @param gender        性別（nullの場合は女性の補正値を適用）
+     * @param activityLevel 活動レベル（nullの場合はLOW）
+     * @return 1日の目標摂取カロリー (kcal)
+     */
+    public static int targetCalories(double weightKg, double heightCm, int age, Gender gender, ActivityLevel activityLevel) {
+        double tdee = tdee(bmr(weightKg, heightCm, age, gender), activityLevel);
+        return (int) roundToTenth(tdee + SURPLUS_CALORIES_FOR_GAIN);
+    }
+
     /**
      * Mifflin-St Jeor式を用いて基礎代謝(BMR)を計算する。
      * <br>
      * 計算式: (10 × 体重kg) + (6.25 × 身長cm) - (5 × 年齢) + 性別補正値
      *
-     * @param req 身体データ
+     * @param weightKg 体重 (kg)
+     * @param heightCm 身長 (cm)
+     * @param age      年齢
+     * @param gender   性別
      * @return 基礎代謝量 (kcal)
      */
-    private double calculateBmr(BmrRequest req) {
-        double baseResult = (WEIGHT_MULTIPLIER * req.getWeight())
-                + (HEIGHT_MULTIPLIER * req.getHeight())
-                - (AGE_MULTIPLIER * req.getAge());
+    public static double bmr(double weightKg, double heightCm, int age, Gender gender) {
+        double baseResult = (WEIGHT_MULTIPLIER * weightKg)
+                + (HEIGHT_MULTIPLIER * heightCm)
+                - (AGE_MULTIPLIER * age);
 
-        if (req.getGender() == Gender.MALE) {
+        if (gender == Gender.MALE) {
             return baseResult + MALE_OFFSET;
         } else {
             return baseResult + FEMALE_OFFSET;
@@ -120,7 +135,7 @@ public class BmrService {
      * @param level 活動レベル
      * @return TDEE (kcal)
      */
-    private double calculateTdee(double bmr, ActivityLevel level) {
+    public static double tdee(double bmr, ActivityLevel level) {
         if (level == null) {
             // 未設定の場合は最も低い活動レベルの係数を適用する
             return bmr * ActivityLevel.LOW.getMultiplier();
@@ -129,27 +144,9 @@ public class BmrService {
     }
 
     /**
-     * DB保存値(String)をGender Enumに変換する。
-     * nullまたは不正値の場合はデフォルトでMALEを返す。
-     */
-    private Gender convertGender(String genderStr) {
-        if (genderStr == null) return Gender.MALE;
-        if (genderStr.equalsIgnoreCase("MALE") || genderStr.equals("男性")) {
-            return Gender.MALE;
-        }
-        return Gender.FEMALE;
-    }
-
-    /**
-     * DB保存値(String)をActivityLevel Enumに変換する。
-     * 変換失敗時はデフォルトでLOWを返す。
+     * 小数点第1位で四捨五入する。
      */
-    private ActivityLevel convertActivityLevel(String levelStr) {
-        if (levelStr == null) return ActivityLevel.LOW;
-        try {
-            return ActivityLevel.valueOf(levelStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return ActivityLevel.LOW;
-        }
+    private static double roundToTenth(double value) {
+        return Math.round(value * 10.0) / 10.0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package org.example.futoru.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * メモリ上のキャッシュのヒット・ミス回数。
+ * <p>
+ * 各キャッシュが1つずつ保持し、メトリクス（{@code cache.gets}）として公開される。
+ * 参照のたびに加算するため、競合の少ない {@link LongAdder} で集計する。
+ * </p>
+ */
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** キャッシュから値を返したことを記録する。 */
+    public void hit() {
+        hits.increment();
+    }
+
+    /** 値を読み込み直したことを記録する。 */
+    public void miss() {
+        misses.increment();
+    }
+
+    /** @return 起動以降のヒット回数 */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** @return 起動以降のミス回数 */
+    public long misses() {
+        return misses.sum();
+    }
+}
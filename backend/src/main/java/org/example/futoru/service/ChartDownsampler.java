@@ -0,0 +1,86 @@
+package org.example.futoru.service;
+
+/**
+ * グラフ表示用の時系列データを間引くユーティリティクラス。
+ * <p>
+ * LTTB (Largest-Triangle-Three-Buckets) アルゴリズムを用いて、
+ * 折れ線の形状（山・谷）をできるだけ保ったまま点数を減らす。
+ * 数年分の毎日の記録でも、グラフには数百点だけを渡せばよくなる。
+ * </p>
+ */
+public final class ChartDownsampler {
+
+    /** 間引き後に最低限残す点数（始点・終点 + 1点） */
+    private static final int MIN_THRESHOLD = 3;
+
+    private ChartDownsampler() {
+    }
+
+    /**
+     * LTTBで残すべき点のインデックスを求める。
+     *
+     * @param x         X座標（昇順であること）
+     * @param y         Y座標
+     * @param threshold 間引き後の点数の上限
+     * @return 残す点のインデックス（昇順）。点数が上限以下の場合は全インデックス、
+     *         上限が {@value #MIN_THRESHOLD} 未満の場合は始点と終点のみ
+     */
+    public static int[] lttb(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        if (threshold < MIN_THRESHOLD && n > 2) {
+            return new int[]{0, n - 1};
+        }
+        if (threshold >= n || threshold < MIN_THRESHOLD) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] sampled = new int[threshold];
+        int sampledIndex = 0;
+
+        // 始点は必ず残す
+        sampled[sampledIndex++] = 0;
+
+        // 始点と終点を除いた点を (threshold - 2) 個のバケットに分割する
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // 次のバケットの平均点（三角形の3頂点目）
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            int avgLength = avgEnd - avgStart;
+            avgX /= avgLength;
+            avgY /= avgLength;
+
+            // 現在のバケットから、直前に選んだ点・次バケットの平均点と作る三角形が最大の点を選ぶ
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+
+            sampled[sampledIndex++] = next;
+            a = next;
+        }
+
+        // 終点は必ず残す
+        sampled[sampledIndex] = n - 1;
+        return sampled;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.futoru.service;
+
+import java.io.IOException;
+
+/**
+ * CSVの構造が不正な場合（ダブルクォートが閉じられていないなど）の例外。
+ * <p>
+ * 個々の値の不正は行単位で読み飛ばすが、構造が壊れている場合は以降のレコードの区切りが
+ * 判断できないため、取り込み全体を中止する。コントローラーでは 400 Bad Request として返す。
+ * </p>
+ */
+public class CsvFormatException extends IOException {
+
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
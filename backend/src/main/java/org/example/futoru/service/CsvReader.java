@@ -0,0 +1,115 @@
+package org.example.futoru.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSVを1レコードずつ読み込む簡易パーサー。
+ * <p>
+ * ダブルクォートで囲まれたフィールド（カンマ・改行・"" によるエスケープを含む）に対応する。
+ * 先頭のBOMは読み飛ばす。ファイル全体を読み込まないため、大きなファイルでもメモリ使用量は一定となる。
+ * </p>
+ */
+final class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private boolean first = true;
+
+    CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * 次のレコードを読み込む。空行は読み飛ばす。
+     *
+     * @return フィールドのリスト（ファイルの終端に達した場合はnull）
+     * @throws CsvFormatException ダブルクォートが閉じられていない場合
+     * @throws IOException        読み込みに失敗した場合
+     */
+    List<String> next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+            if (i >= line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // クォート内の改行: 次の行を続けて読む
+                String continuation = readLine();
+                if (continuation == null) {
+                    throw new CsvFormatException(lineNumber + "行目: ダブルクォートが閉じられていません");
+                }
+                field.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * 直前に読み込んだレコードの最終行の行番号（1始まり）。
+     */
+    int lineNumber() {
+        return lineNumber;
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        if (first) {
+            first = false;
+            if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * ユーザーの食事記録・体重記録をファイルとして書き出すサービスクラス。
+ * <p>
+ * 記録はリポジトリのストリームから1行ずつ読み込み、そのまま出力先へ書き込む。
+ * 全件をリストに読み込まないため、数年分の履歴でもメモリ使用量は一定となる。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    /** 出力先への書き込みバッファのサイズ */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Excel で UTF-8 として開けるよう、CSVの先頭に付与するBOM */
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final MealLogRepository mealLogRepository;
+    private final WeightLogRepository weightLogRepository;
+    private final JsonMapper jsonMapper;
+
+    /** 出力形式 */
+    public enum Format {
+        /** カンマ区切り（1行目はヘッダー） */
+        CSV,
+        /** 1行に1件のJSON（改行区切りJSON） */
+        NDJSON
+    }
+
+    /**
+     * 指定ユーザーの全食事記録を、記録日時の昇順で書き出す。
+     *
+     * @param user   対象ユーザー
+     * @param format 出力形式
+     * @param out    出力先（このメソッドではクローズしない）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void exportMeals(User user, Format format, OutputStream out) throws IOException {
+        try (Stream<MealLogDto> meals = mealLogRepository.streamDtosByUser(user)) {
+            write(meals.iterator(), format, out, "eaten_at,name,calories,amount", (meal, writer) -> {
+                writer.write(meal.eatenAt().toString());
+                writer.write(',');
+                writeCsvField(writer, meal.name());
+                writer.write(',');
+                writer.write(String.valueOf(meal.calories()));
+                writer.write(',');
+                writer.write(meal.amount() != null ? meal.amount().toString() : "");
+            });
+        }
+    }
+
+    /**
+     * 指定ユーザーの全体重記録を、日付の昇順で書き出す。
+     *
+     * @param user   対象ユーザー
+     * @param format 出力形式
+     * @param out    出力先（このメソッドではクローズしない）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void exportWeights(User user, Format format, OutputStream out) throws IOException {
+        try (Stream<WeightPointDto> weights = weightLogRepository.streamPointsByUser(user)) {
+            write(weights.iterator(), format, out, "date,weight", (point, writer) -> {
+                writer.write(point.date().toString());
+                writer.write(',');
+                writer.write(point.weight() != null ? point.weight().toString() : "");
+            });
+        }
+    }
+
+    private <T> void write(Iterator<T> rows, Format format, OutputStream out, String csvHeader, CsvRowWriter<T> csvRow)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == Format.CSV) {
+            writer.write(UTF8_BOM);
+            writer.write(csvHeader);
+            writer.write("\r\n");
+        }
+
+        while (rows.hasNext()) {
+            T row = rows.next();
+            if (format == Format.CSV) {
+                csvRow.write(row, writer);
+                writer.write("\r\n");
+            } else {
+                writer.write(jsonMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        // 出力先のクローズ（gzipの終端処理など）は呼び出し側で行う
+        writer.flush();
+    }
+
+    /**
+     * CSVの1フィールドを書き込む。
+     * カンマ・ダブルクォート・改行を含む場合はダブルクォートで囲み、内部のダブルクォートは2つ重ねる。
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /** CSVの1行分（改行を除く）を書き込む処理 */
+    @FunctionalInterface
+    private interface CsvRowWriter<T> {
+        void write(T row, Writer writer) throws IOException;
+    }
+}
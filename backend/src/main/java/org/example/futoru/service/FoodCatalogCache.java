@@ -0,0 +1,178 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodOptionDto;
+import org.example.futoru.repository.FoodItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 食品選択リスト（システム標準食品 + My食品）をメモリ上に保持するキャッシュ。
+ * <p>
+ * 2層構成となっている：
+ * <ul>
+ * <li>システム標準食品: 全ユーザーで共有する不変スナップショット</li>
+ * <li>My食品: ユーザーごとのオーバーレイ（件数上限付きのLRUキャッシュ）</li>
+ * </ul>
+ * どちらもバージョン番号で無効化する。読み込み開始時のバージョンを記録しておき、
+ * 読み込み中に無効化が起きた場合はその結果をキャッシュしないことで、古いデータの混入を防ぐ。
+ * </p>
+ */
+@Component
+public class FoodCatalogCache {
+
+    private final FoodItemRepository foodItemRepository;
+
+    /** My食品オーバーレイを保持するユーザー数の上限 */
+    private final int userCacheSize;
+
+    private final AtomicLong systemVersion = new AtomicLong();
+    private final AtomicLong userVersion = new AtomicLong();
+
+    /** システム標準食品のスナップショット（未読み込みの場合はnull） */
+    private volatile Snapshot systemSnapshot;
+
+    /** ユーザーIDごとのMy食品（アクセス順のLRU。アクセスは自身のロックで保護する） */
+    private final Map<Long, List<FoodOptionDto>> userFoods;
+
+    private final CacheStats systemStats = new CacheStats();
+    private final CacheStats userStats = new CacheStats();
+
+    public FoodCatalogCache(FoodItemRepository foodItemRepository,
+                            @Value("${futoru.food-catalog.user-cache-size:1000}") int userCacheSize) {
+        this.foodItemRepository = foodItemRepository;
+        this.userCacheSize = userCacheSize;
+        this.userFoods = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<FoodOptionDto>> eldest) {
+                return size() > FoodCatalogCache.this.userCacheSize;
+            }
+        };
+    }
+
+    /**
+     * システム標準食品のスナップショットを返す。
+     *
+     * @return 変更不可のシステム標準食品リスト
+     */
+    public List<FoodOptionDto> getSystemFoods() {
+        long version = systemVersion.get();
+        Snapshot snapshot = systemSnapshot;
+        if (snapshot != null && snapshot.version() == version) {
+            systemStats.hit();
+            return snapshot.foods();
+        }
+        systemStats.miss();
+
+        List<FoodOptionDto> loaded = List.copyOf(foodItemRepository.findSystemFoodOptions());
+        // 読み込み中に無効化された場合でも、次回の読み込み時にバージョン不一致で破棄される
+        systemSnapshot = new Snapshot(version, loaded);
+        return loaded;
+    }
+
+    /**
+     * 指定ユーザーのMy食品を返す。
+     *
+     * @param userId 対象ユーザーのID
+     * @return 変更不可のMy食品リスト
+     */
+    public List<FoodOptionDto> getUserFoods(Long userId) {
+        long version;
+        synchronized (userFoods) {
+            List<FoodOptionDto> cached = userFoods.get(userId);
+            if (cached != null) {
+                userStats.hit();
+                return cached;
+            }
+            version = userVersion.get();
+        }
+        userStats.miss();
+
+        List<FoodOptionDto> loaded = List.copyOf(foodItemRepository.findFoodOptionsByUserId(userId));
+
+        synchronized (userFoods) {
+            if (userVersion.get() == version) {
+                userFoods.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 指定ユーザーのMy食品キャッシュを無効化する。
+     * <p>
+     * トランザクション中に呼ばれた場合はコミット後に無効化する。
+     * コミット前に無効化すると、並行するリクエストが未コミットの（古い）状態を再キャッシュしてしまうため。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     */
+    public void invalidateUserFoods(Long userId) {
+        runAfterCommit(() -> {
+            synchronized (userFoods) {
+                userVersion.incrementAndGet();
+                userFoods.remove(userId);
+            }
+        });
+    }
+
+    /**
+     * システム標準食品のスナップショットを無効化し、新しいカタログバージョンを公開する。
+     * トランザクション中に呼ばれた場合はコミット後に無効化する。
+     */
+    public void invalidateSystemFoods() {
+        runAfterCommit(systemVersion::incrementAndGet);
+    }
+
+    /**
+     * システム標準食品スナップショットのヒット・ミス回数を返す。
+     *
+     * @return システム標準食品の統計
+     */
+    public CacheStats systemStats() {
+        return systemStats;
+    }
+
+    /**
+     * My食品オーバーレイのヒット・ミス回数を返す。
+     *
+     * @return My食品の統計
+     */
+    public CacheStats userStats() {
+        return userStats;
+    }
+
+    /**
+     * My食品オーバーレイを保持しているユーザー数を返す。
+     *
+     * @return 保持件数
+     */
+    public int userCacheSize() {
+        synchronized (userFoods) {
+            return userFoods.size();
+        }
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** 読み込み時点のバージョンと、その時点のシステム標準食品リスト */
+    private record Snapshot(long version, List<FoodOptionDto> foods) {
+    }
+}
@@ -0,0 +1,250 @@
+package org.example.futoru.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.dto.CatalogFood;
+import org.example.futoru.dto.CatalogImportResult;
+import org.example.futoru.repository.FoodItemRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * システム標準食品（食品カタログ）を、食品成分表などのCSVから一括で取り込むサービスクラス。
+ * <p>
+ * 識別コード（{@code food_items.code}）を自然キーとして既存の行と突き合わせ、次のように反映する：
+ * <ul>
+ * <li>コードが未登録の食品: 新規登録</li>
+ * <li>名前・カロリー・単位・種類のいずれかが変わった食品: 更新</li>
+ * <li>内容が同じ食品: 何もしない</li>
+ * </ul>
+ * CSVは1レコードずつ読み込み、登録・更新は {@value #CHUNK_SIZE} 件ごとに JDBC バッチで送信する。
+ * メモリに保持するのは既存カタログの突き合わせ用データ（1件あたり数十バイトの文字列数個）だけで、
+ * 取り込むファイルの大きさには依存しない。
+ * ファイルにない既存の食品は、食事記録から参照されている可能性があるため削除しない。
+ * </p>
+ * <p>
+ * 取り込み全体を1トランザクションで処理し、コミット後に {@link FoodCatalogCache} のバージョンを1回だけ進める。
+ * 取り込み中の利用者には古いカタログがそのまま見え、コミット時点で新しいカタログに一斉に切り替わる。
+ * カロリーが変わった食品を材料に含む料理は、{@link RecipeGraphService#propagateFrom} で同じトランザクション内で再計算する。
+ * </p>
+ */
+@Slf4j
+@Service
+public class FoodCatalogImportService {
+
+    /** 1回のバッチ登録・更新で扱う件数 */
+    static final int CHUNK_SIZE = 1000;
+
+    /** 単位の列を省略した場合の単位（食品成分表は可食部100gあたりの値） */
+    static final String DEFAULT_UNIT = "100g";
+
+    /** 種類の列を省略した場合の種類 */
+    static final String DEFAULT_TYPE = "INGREDIENT";
+
+    private static final Set<String> TYPES = Set.of("INGREDIENT", "DISH", "MEAL_SET");
+
+    private static final int MAX_CODE_LENGTH = 64;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_CALORIES = 10000;
+
+    private final FoodItemRepository foodItemRepository;
+    private final RecipeGraphService recipeGraphService;
+    private final FoodCatalogCache foodCatalogCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public FoodCatalogImportService(FoodItemRepository foodItemRepository,
+                                    RecipeGraphService recipeGraphService,
+                                    FoodCatalogCache foodCatalogCache,
+                                    TransactionTemplate transactionTemplate) {
+        this.foodItemRepository = foodItemRepository;
+        this.recipeGraphService = recipeGraphService;
+        this.foodCatalogCache = foodCatalogCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 食品カタログをCSVから取り込む。
+     * <p>
+     * 列は「識別コード,食品名,カロリー,単位,種類」（単位・種類は省略可）。
+     * カロリーは小数を含む場合、四捨五入する。1行目のヘッダーは省略できる。
+     * </p>
+     *
+     * @param in CSVの入力（UTF-8。このメソッドではクローズしない）
+     * @return 取り込み結果
+     * @throws CsvFormatException             CSVの構造が不正な場合（何も反映されない）
+     * @throws IOException                    読み込みに失敗した場合（何も反映されない）
+     * @throws ImportAlreadyRunningException 既に取り込みが実行中の場合
+     */
+    public CatalogImportResult importCatalog(InputStream in) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportAlreadyRunningException("食品カタログの取り込みは既に実行中です");
+        }
+        long startedAt = System.nanoTime();
+        try {
+            CatalogImportResult result = transactionTemplate.execute(status -> {
+                try {
+                    return apply(new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8)), startedAt);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Food catalog import finished: inserted={}, updated={}, unchanged={}, invalid={}, recalculated={}, elapsed={}ms",
+                    result.inserted(), result.updated(), result.unchanged(), result.invalid(),
+                    result.recalculatedFoods(), result.elapsedMillis());
+            return result;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * トランザクション内で、CSVの内容を既存のカタログと突き合わせて反映する。
+     */
+    private CatalogImportResult apply(CsvReader reader, long startedAt) throws IOException {
+        Map<String, CatalogFood> existing = new HashMap<>();
+        for (CatalogFood food : foodItemRepository.findSystemCatalog()) {
+            existing.put(food.code(), food);
+        }
+
+        Set<String> seenCodes = new HashSet<>();
+        List<CatalogFood> inserts = new ArrayList<>(CHUNK_SIZE);
+        List<CatalogFood> updates = new ArrayList<>(CHUNK_SIZE);
+        List<Long> caloriesChanged = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+        int invalid = 0;
+        boolean firstRecord = true;
+
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            CatalogFood food;
+            try {
+                food = parse(fields);
+            } catch (RuntimeException e) {
+                // 1行目の値が読めない場合はヘッダー行とみなす
+                if (!firstRecord) {
+                    invalid++;
+                    if (errors.size() < ImportService.MAX_ERROR_MESSAGES) {
+                        errors.add(reader.lineNumber() + "行目: " + e.getMessage());
+                    }
+                }
+                firstRecord = false;
+                continue;
+            }
+            firstRecord = false;
+
+            if (!seenCodes.add(food.code())) {
+                invalid++;
+                if (errors.size() < ImportService.MAX_ERROR_MESSAGES) {
+                    errors.add(reader.lineNumber() + "行目: 識別コードが重複しています: " + food.code());
+                }
+                continue;
+            }
+
+            CatalogFood current = existing.remove(food.code());
+            if (current == null) {
+                inserts.add(food);
+            } else if (current.sameContent(food)) {
+                unchanged++;
+            } else {
+                updates.add(new CatalogFood(current.id(), food.code(), food.name(), food.calories(), food.unit(), food.type()));
+                if (!Objects.equals(current.calories(), food.calories())) {
+                    caloriesChanged.add(current.id());
+                }
+            }
+
+            if (inserts.size() >= CHUNK_SIZE) {
+                inserted += flushInserts(inserts);
+            }
+            if (updates.size() >= CHUNK_SIZE) {
+                updated += flushUpdates(updates);
+            }
+        }
+        inserted += flushInserts(inserts);
+        updated += flushUpdates(updates);
+
+        // 材料として使われている食品のカロリーが変わった場合は、それを含む料理を再計算する
+        int recalculated = recipeGraphService.propagateFrom(caloriesChanged);
+
+        if (inserted > 0 || updated > 0) {
+            // コミット後にカタログのバージョンを進め、スナップショットと検索インデックスを1回だけ作り直させる
+            foodCatalogCache.invalidateSystemFoods();
+        }
+
+        return new CatalogImportResult(inserted, updated, unchanged, invalid, recalculated,
+                (System.nanoTime() - startedAt) / 1_000_000, List.copyOf(errors));
+    }
+
+    private int flushInserts(List<CatalogFood> inserts) {
+        int size = inserts.size();
+        foodItemRepository.insertSystemFoods(inserts);
+        inserts.clear();
+        return size;
+    }
+
+    private int flushUpdates(List<CatalogFood> updates) {
+        int size = updates.size();
+        foodItemRepository.updateSystemFoods(updates);
+        updates.clear();
+        return size;
+    }
+
+    private static CatalogFood parse(List<String> fields) {
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("列が不足しています");
+        }
+
+        String code = fields.get(0).strip();
+        if (code.isEmpty() || code.length() > MAX_CODE_LENGTH) {
+            throw new IllegalArgumentException("識別コードは1〜" + MAX_CODE_LENGTH + "文字で入力してください");
+        }
+
+        String name = fields.get(1).strip();
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("食品名は1〜" + MAX_NAME_LENGTH + "文字で入力してください");
+        }
+
+        double rawCalories = Double.parseDouble(fields.get(2).strip());
+        // Math.round は NaN を 0 に、Infinity を long の最大値に丸めるため、丸める前に除外する
+        if (!Double.isFinite(rawCalories)) {
+            throw new IllegalArgumentException("カロリーが数値ではありません: " + fields.get(2).strip());
+        }
+        long calories = Math.round(rawCalories);
+        if (calories < 0 || calories > MAX_CALORIES) {
+            throw new IllegalArgumentException("カロリーが範囲外です: " + calories);
+        }
+
+        String unit = column(fields, 3, DEFAULT_UNIT);
+        String type = column(fields, 4, DEFAULT_TYPE);
+        if (!TYPES.contains(type)) {
+            throw new IllegalArgumentException("種類が不正です: " + type);
+        }
+        return new CatalogFood(null, code, name, (int) calories, unit, type);
+    }
+
+    private static String column(List<String> fields, int index, String defaultValue) {
+        if (fields.size() <= index || fields.get(index).isBlank()) {
+            return defaultValue;
+        }
+        return fields.get(index).strip();
+    }
+}
@@ -0,0 +1,398 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.FoodOptionDto;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 食品名のメモリ上の検索インデックス。
+ * <p>
+ * システム標準食品は、正規化した食品名の1文字・2文字のn-gramから転置インデックスを作成し、
+ * {@link FoodCatalogCache} のスナップショットが差し替わった時点で作り直す。
+ * My食品はユーザーごとに件数が少ないため、インデックスを作らずに走査する。
+ * </p>
+ * <ul>
+ * <li>正規化: NFKC（全角英数・半角カナの統一）、小文字化、カタカナ → ひらがな、空白の除去</li>
+ * <li>一致: 部分一致（前方一致を優先）。一致がない場合のみ、2-gramの類似度による曖昧一致</li>
+ * <li>並び順: ユーザーの利用回数 → 一致の種類 → 類似度 → 名前の短さ → ID の順</li>
+ * </ul>
+ * 漢字とかなの読みの対応は辞書を持たないため扱わない（「鶏」で「鶏むね肉」は一致するが、「とり」では一致しない）。
+ */
+@Component
+@RequiredArgsConstructor
+public class FoodSearchIndex {
+
+    /** 検索結果の既定の件数 */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /** 曖昧一致として扱う2-gram類似度（Dice係数）の下限 */
+    private static final double FUZZY_THRESHOLD = 0.5;
+
+    private static final int MATCH_FUZZY = 0;
+    private static final int MATCH_CONTAINS = 1;
+    private static final int MATCH_PREFIX = 2;
+
+    /** 並び順（先頭ほど上位） */
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::usage).reversed()
+            .thenComparing(Comparator.comparingInt(Hit::match).reversed())
+            .thenComparing(Comparator.comparingDouble(Hit::similarity).reversed())
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(hit -> hit.food().id());
+
+    private final FoodCatalogCache foodCatalogCache;
+    private final FoodUsageCache foodUsageCache;
+
+    /** システム標準食品のインデックス（未作成の場合はnull） */
+    private volatile SystemIndex systemIndex;
+
+    /** インデックスの再利用（ヒット）と作り直し（ミス）の回数 */
+    private final CacheStats indexStats = new CacheStats();
+
+    /**
+     * システム標準食品と指定ユーザーのMy食品から、食品名で検索する。
+     * <p>
+     * 検索語が空の場合は、よく使う食品から順に返す。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @param query  検索語
+     * @param limit  返却する件数の上限
+     * @return 並び順に従った上位 {@code limit} 件
+     */
+    public List<FoodOptionDto> search(Long userId, String query, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        String normalized = normalize(query);
+        Map<Long, Integer> usage = foodUsageCache.getUsageCounts(userId);
+        SystemIndex index = currentIndex();
+        List<FoodOptionDto> own = foodCatalogCache.getUserFoods(userId);
+
+        TopK top = new TopK(limit);
+
+        if (normalized.isEmpty()) {
+            for (int i = 0; i < index.foods().size(); i++) {
+                top.offer(new Hit(index.foods().get(i), usage(usage, index.foods().get(i)), MATCH_CONTAINS, 1.0, index.names()[i].length()));
+            }
+            for (FoodOptionDto food : own) {
+                top.offer(new Hit(food, usage(usage, food), MATCH_CONTAINS, 1.0, normalize(food.name()).length()));
+            }
+            return top.toList();
+        }
+
+        boolean found = false;
+        for (int i : index.candidates(normalized)) {
+            String name = index.names()[i];
+            int match = matchType(name, normalized);
+            if (match != MATCH_FUZZY) {
+                top.offer(new Hit(index.foods().get(i), usage(usage, index.foods().get(i)), match, 1.0, name.length()));
+                found = true;
+            }
+        }
+        for (FoodOptionDto food : own) {
+            String name = normalize(food.name());
+            int match = matchType(name, normalized);
+            if (match != MATCH_FUZZY) {
+                top.offer(new Hit(food, usage(usage, food), match, 1.0, name.length()));
+                found = true;
+            }
+        }
+
+        if (!found && normalized.length() >= 2) {
+            Set<String> queryGrams = bigrams(normalized);
+            index.offerSimilar(queryGrams, usage, top);
+            for (FoodOptionDto food : own) {
+                String name = normalize(food.name());
+                double similarity = dice(queryGrams, bigrams(name));
+                if (similarity >= FUZZY_THRESHOLD) {
+                    top.offer(new Hit(food, usage(usage, food), MATCH_FUZZY, similarity, name.length()));
+                }
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * 指定されたIDの食品を、IDの並び順のまま返す。
+     * <p>
+     * システム標準食品はインデックスのID表から、My食品はキャッシュ済みのリストから引くため、DBアクセスは発生しない。
+     * 削除された食品や、他のユーザーのMy食品のIDは結果に含まれない。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @param ids    食品IDのリスト
+     * @return 食品リスト
+     */
+    public List<FoodOptionDto> findByIds(Long userId, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        SystemIndex index = currentIndex();
+        Map<Long, FoodOptionDto> own = new HashMap<>();
+        for (FoodOptionDto food : foodCatalogCache.getUserFoods(userId)) {
+            own.put(food.id(), food);
+        }
+
+        List<FoodOptionDto> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Integer position = index.positions().get(id);
+            FoodOptionDto food = position != null ? index.foods().get(position) : own.get(id);
+            if (food != null) {
+                result.add(food);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 検索用に文字列を正規化する。
+     *
+     * @param value 対象の文字列（nullの場合は空文字として扱う）
+     * @return 正規化した文字列
+     */
+    static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+
+        String nfkc = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(nfkc.length());
+        for (int i = 0; i < nfkc.length(); i++) {
+            char c = nfkc.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            // カタカナ（ァ〜ヶ）をひらがなに寄せる
+            if (c >= 'ァ' && c <= 'ヶ') {
+                c = (char) (c - 0x60);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * システム標準食品インデックスの再利用（ヒット）と作り直し（ミス）の回数を返す。
+     *
+     * @return インデックスの統計
+     */
+    public CacheStats indexStats() {
+        return indexStats;
+    }
+
+    /**
+     * システム標準食品のインデックスを返す。
+     * スナップショットが差し替わっていれば作り直す。
+     */
+    private SystemIndex currentIndex() {
+        List<FoodOptionDto> foods = foodCatalogCache.getSystemFoods();
+        SystemIndex index = systemIndex;
+        if (index != null && index.foods() == foods) {
+            indexStats.hit();
+            return index;
+        }
+
+        synchronized (this) {
+            index = systemIndex;
+            if (index == null || index.foods() != foods) {
+                indexStats.miss();
+                index = SystemIndex.build(foods);
+                systemIndex = index;
+            }
+            return index;
+        }
+    }
+
+    private static int usage(Map<Long, Integer> usage, FoodOptionDto food) {
+        return usage.getOrDefault(food.id(), 0);
+    }
+
+    private static int matchType(String name, String query) {
+        if (name.startsWith(query)) {
+            return MATCH_PREFIX;
+        }
+        return name.contains(query) ? MATCH_CONTAINS : MATCH_FUZZY;
+    }
+
+    private static Set<String> bigrams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= value.length(); i++) {
+            grams.add(value.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private static double dice(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int common = 0;
+        for (String gram : a) {
+            if (b.contains(gram)) {
+                common++;
+            }
+        }
+        return 2.0 * common / (a.size() + b.size());
+    }
+
+    /** 検索結果の候補 */
+    private record Hit(FoodOptionDto food, int usage, int match, double similarity, int length) {
+    }
+
+    /**
+     * 上位K件だけを保持する選択器。
+     * 最下位を先頭に持つヒープで、候補数に関わらずK件分のメモリで済む。
+     */
+    private static final class TopK {
+
+        private final int limit;
+        private final PriorityQueue<Hit> heap;
+
+        private TopK(int limit) {
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        }
+
+        private void offer(Hit hit) {
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (RANKING.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        private List<FoodOptionDto> toList() {
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(RANKING);
+            return hits.stream().map(Hit::food).toList();
+        }
+    }
+
+    /**
+     * システム標準食品の転置インデックス。
+     *
+     * @param foods    インデックス作成元のスナップショット（差し替え判定に使用）
+     * @param names    正規化した食品名（foods と同じ順序）
+     * @param postings n-gram → その文字列を含む食品の位置（昇順）
+     * @param gramCounts 食品名ごとの2-gramの種類数（類似度計算用）
+     * @param positions  食品ID → foods 内の位置
+     */
+    private record SystemIndex(List<FoodOptionDto> foods, String[] names, Map<String, int[]> postings, int[] gramCounts,
+                               Map<Long, Integer> positions) {
+
+        private static final int[] EMPTY = new int[0];
+
+        static SystemIndex build(List<FoodOptionDto> foods) {
+            String[] names = new String[foods.size()];
+            int[] gramCounts = new int[foods.size()];
+            Map<String, List<Integer>> building = new HashMap<>();
+            Map<Long, Integer> positions = new HashMap<>(foods.size() * 2);
+
+            for (int i = 0; i < foods.size(); i++) {
+                positions.put(foods.get(i).id(), i);
+                String name = normalize(foods.get(i).name());
+                names[i] = name;
+
+                Set<String> grams = new LinkedHashSet<>();
+                for (int j = 0; j < name.length(); j++) {
+                    grams.add(name.substring(j, j + 1));
+                }
+                Set<String> pairs = bigrams(name);
+                gramCounts[i] = pairs.size();
+                grams.addAll(pairs);
+
+                for (String gram : grams) {
+                    building.computeIfAbsent(gram, k -> new ArrayList<>()).add(i);
+                }
+            }
+
+            Map<String, int[]> postings = new HashMap<>(building.size() * 2);
+            building.forEach((gram, list) ->
+                    postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+            return new SystemIndex(foods, names, postings, gramCounts, positions);
+        }
+
+        /**
+         * 検索語のn-gramをすべて含む食品の位置を返す（部分一致の候補。最終判定は呼び出し側で行う）。
+         */
+        int[] candidates(String query) {
+            List<String> grams = new ArrayList<>();
+            if (query.length() == 1) {
+                grams.add(query);
+            } else {
+                grams.addAll(bigrams(query));
+            }
+
+            int[][] lists = new int[grams.size()][];
+            for (int i = 0; i < grams.size(); i++) {
+                lists[i] = postings.getOrDefault(grams.get(i), EMPTY);
+                if (lists[i].length == 0) {
+                    return EMPTY;
+                }
+            }
+
+            // 件数の少ない順に積集合を取る
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+            int[] result = lists[0];
+            for (int i = 1; i < lists.length && result.length > 0; i++) {
+                result = intersect(result, lists[i]);
+            }
+            return result;
+        }
+
+        /**
+         * 検索語と2-gramを共有する食品のうち、類似度が下限以上のものを候補に加える。
+         */
+        void offerSimilar(Set<String> queryGrams, Map<Long, Integer> usage, TopK top) {
+            Map<Integer, Integer> common = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (int position : postings.getOrDefault(gram, EMPTY)) {
+                    common.merge(position, 1, Integer::sum);
+                }
+            }
+
+            common.forEach((position, count) -> {
+                double similarity = 2.0 * count / (queryGrams.size() + gramCounts[position]);
+                if (similarity >= FUZZY_THRESHOLD) {
+                    FoodOptionDto food = foods.get(position);
+                    top.offer(new Hit(food, usage(usage, food), MATCH_FUZZY, similarity, names[position].length()));
+                }
+            });
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] == b[j]) {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                } else if (a[i] < b[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package org.example.futoru.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.FoodOptionDto;
+import org.example.futoru.dto.MealLogChange;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.entity.DailyCalorieSummary;
 import org.example.futoru.entity.FoodItem;
 import org.example.futoru.entity.MealLog;
 import org.example.futoru.entity.User;
+import org.example.futoru.repository.DailyCalorieSummaryRepository;
 import org.example.futoru.repository.FoodItemRepository;
 import org.example.futoru.repository.MealLogRepository;
 import org.springframework.stereotype.Service;
@@ -20,6 +25,7 @@ import java.util.List;
  * 食品データの検索、食事の記録（登録）、削除機能を提供する。
  * 特に食事記録時は、マスタデータの値をコピーして保存する「スナップショット」方式を採用し、
  * 将来マスタが変更・削除されても過去の記録が整合性を保てるように設計されている。
+ * また、記録の追加・削除と同じトランザクション内で日別カロリー集計（DailyCalorieSummary）も更新する。
  * </p>
  */
 @Service
@@ -29,22 +35,47 @@ public class FoodService {
 
     private final FoodItemRepository foodItemRepository;
     private final MealLogRepository mealLogRepository;
+    private final DailyCalorieSummaryRepository dailyCalorieSummaryRepository;
     private final UserService userService;
+    private final FoodSearchIndex foodSearchIndex;
+    private final FoodUsageCache foodUsageCache;
 
     /**
-     * 指定されたユーザーが選択可能な食品リストを取得する。
+     * 指定されたユーザーが選択可能な食品を、食品名で検索する。
      * <p>
-     * 以下の2種類の食品を統合して返却する：
+     * 以下の2種類の食品が対象となる：
      * 1. システム標準食品 (全ユーザー共通, user_idがNULL)
      * 2. ユーザー自身のMy食品 (user_idが現在のユーザー)
+     * 検索は {@link FoodSearchIndex} のメモリ上のインデックスで行い、ユーザーがよく使う食品から順に返す。
+     * 食品・利用回数がキャッシュ済みであればDBアクセスは発生しない。
      * </p>
      *
      * @param username 現在のユーザー名
-     * @return 利用可能な食品のリスト
+     * @param query    検索語（空の場合はよく使う食品から順に返す）
+     * @param limit    返却する件数の上限
+     * @return 検索結果の食品リスト
      */
-    public List<FoodItem> getAvailableFoods(String username) {
+    @Transactional(readOnly = true)
+    public List<FoodOptionDto> searchFoods(String username, String query, int limit) {
         User user = userService.getUserByUsername(username);
-        return foodItemRepository.findAllAvailable(user);
+        return foodSearchIndex.search(user.getId(), query, limit);
+    }
+
+    /**
+     * 指定されたユーザーが最近よく使う食品を取得する。
+     * <p>
+     * 記録回数を時間で減衰させたスコアの上位N件を返す。
+     * 上位N件は {@link FoodUsageCache} が記録のたびに差分で更新しているため、
+     * キャッシュ済みであれば meal_logs の集計やDBアクセスは発生しない。
+     * </p>
+     *
+     * @param username 現在のユーザー名
+     * @return よく使う食品のリスト（スコアの高い順）
+     */
+    @Transactional(readOnly = true)
+    public List<FoodOptionDto> getRecentFoods(String username) {
+        User user = userService.getUserByUsername(username);
+        return foodSearchIndex.findByIds(user.getId(), foodUsageCache.getTopFoodIds(user.getId()));
     }
 
     /**
@@ -52,17 +83,58 @@ public class FoodService {
      * サーバーの日時を基準に、当日の 00:00:00 から 23:59:59 までのデータを検索する。
      *
      * @param username 現在のユーザー名
-     * @return 今日のMealLogリスト
+     * @return 今日の食事記録DTOのリスト（記録日時の昇順）
      */
     @Transactional(readOnly = true)
-    public List<MealLog> getTodayMealLogs(String username) {
-        User user = userService.getUserByUsername(username);
+    public List<MealLogDto> getTodayMealLogs(String username) {
+        return getTodayMealLogs(userService.getUserByUsername(username));
+    }
 
+    /**
+     * 解決済みのユーザーの「今日」の食事記録一覧を取得する。
+     *
+     * @param user 現在のユーザー
+     * @return 今日の食事記録DTOのリスト（記録日時の昇順）
+     * @see #getTodayMealLogs(String)
+     */
+    @Transactional(readOnly = true)
+    public List<MealLogDto> getTodayMealLogs(User user) {
         // 当日の範囲を設定 (例: 2025-01-01 00:00:00 ～ 23:59:59)
         LocalDateTime start = LocalDate.now().atStartOfDay();
         LocalDateTime end = LocalDate.now().atTime(LocalTime.MAX);
 
-        return mealLogRepository.findByUserAndEatenAtBetween(user, start, end);
+        return mealLogRepository.findDtosByUserAndEatenAtBetween(user, start, end);
+    }
+
+    /**
+     * ユーザーの「今日」の摂取カロリー集計を取得する。
+     * <p>
+     * 通常は日別集計行を1件読み込むだけで済む。
+     * 集計行がまだ作成されていない日（記録がない日や、集計導入前に記録された日）は、
+     * MealLog から集計した値を保存せずに返す。
+     * </p>
+     *
+     * @param username 現在のユーザー名
+     * @return 今日の日別カロリー集計
+     */
+    @Transactional(readOnly = true)
+    public DailyCalorieSummary getTodaySummary(String username) {
+        return getTodaySummary(userService.getUserByUsername(username));
+    }
+
+    /**
+     * 解決済みのユーザーの「今日」の摂取カロリー集計を取得する。
+     *
+     * @param user 現在のユーザー
+     * @return 今日の日別カロリー集計
+     * @see #getTodaySummary(String)
+     */
+    @Transactional(readOnly = true)
+    public DailyCalorieSummary getTodaySummary(User user) {
+        LocalDate today = LocalDate.now();
+
+        return dailyCalorieSummaryRepository.findByUserAndDate(user, today)
+                .orElseGet(() -> aggregateSummary(user, today));
     }
 
     /**
@@ -76,9 +148,10 @@ public class FoodService {
      * @param username   現在のユーザー名
      * @param foodItemId 選択された食品マスタID
      * @param amount     摂取量（マスタの単位に対する倍率。例: 1.5倍）
+     * @return 追加された記録と、反映後の日別集計
      * @throws IllegalArgumentException 指定されたIDの食品が存在しない場合
      */
-    public void recordMealFromMaster(String username, Long foodItemId, Double amount) {
+    public MealLogChange recordMealFromMaster(String username, Long foodItemId, Double amount) {
         User user = userService.getUserByUsername(username);
         FoodItem foodItem = foodItemRepository.findById(foodItemId)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid food item ID"));
@@ -98,6 +171,12 @@ public class FoodService {
         log.setEatenAt(LocalDateTime.now());
 
         mealLogRepository.save(log);
+        DailyCalorieSummary summary = applyToSummary(user, log.getEatenAt().toLocalDate(), totalCalories, 1);
+
+        // 食品検索の並び順に使う利用回数を、コミット後に加算する
+        foodUsageCache.recordUse(user.getId(), foodItem.getId());
+
+        return toChange(log, summary);
     }
 
     /**
@@ -107,8 +186,9 @@ public class FoodService {
      * @param username 現在のユーザー名
      * @param name     食品名
      * @param calories 合計カロリー (kcal)
+     * @return 追加された記録と、反映後の日別集計
      */
-    public void recordManualMeal(String username, String name, int calories) {
+    public MealLogChange recordManualMeal(String username, String name, int calories) {
         User user = userService.getUserByUsername(username);
 
         MealLog log = new MealLog();
@@ -120,6 +200,8 @@ public class FoodService {
         log.setEatenAt(LocalDateTime.now());
 
         mealLogRepository.save(log);
+        DailyCalorieSummary summary = applyToSummary(user, log.getEatenAt().toLocalDate(), calories, 1);
+        return toChange(log, summary);
     }
 
     /**
@@ -129,10 +211,11 @@ public class FoodService {
      *
      * @param logId    削除対象のログID
      * @param username リクエストしたユーザー名
+     * @return 削除された記録と、反映後の日別集計
      * @throws SecurityException 所有者でないユーザーが削除を試みた場合
      * @throws IllegalArgumentException 指定されたIDのログが存在しない場合
      */
-    public void deleteMealLog(Long logId, String username) {
+    public MealLogChange deleteMealLog(Long logId, String username) {
         MealLog log = mealLogRepository.findById(logId)
                 .orElseThrow(() -> new IllegalArgumentException("Log not found"));
 
@@ -140,5 +223,63 @@ public class FoodService {
             throw new SecurityException("You cannot delete this log");
         }
         mealLogRepository.delete(log);
+        DailyCalorieSummary summary = applyToSummary(log.getUser(), log.getEatenAt().toLocalDate(), -log.getCalories(), -1);
+        return toChange(log, summary);
+    }
+
+    /**
+     * 食事記録の追加・削除を日別カロリー集計に反映する。
+     * <p>
+     * 集計行は行ロックを取得してから加算するため、同時に記録が行われても値や更新番号が失われない。
+     * 集計行が存在しない場合は、MealLog から集計した値からこの変更分を除いて作成し、その後ほかの場合と同じく差分を加算する
+     * （JPQL実行前に保留中の INSERT/DELETE がフラッシュされるため、集計値にはこの変更が含まれている）。
+     * 同じ日の最初の記録が同時に行われても、集計行の作成は一方だけが行い、もう一方はその行に差分を加算する。
+     * 存在しない行への行ロックは隙間ロックとなり、同時に INSERT するとデッドロックになるため、
+     * 行ロックは集計行を作成した後に取得する。
+     * </p>
+     *
+     * @param user         対象ユーザー
+     * @param date         記録日
+     * @param calorieDelta 合計カロリーの増減
+     * @param countDelta   件数の増減
+     * @return 反映後の集計行
+     */
+    private DailyCalorieSummary applyToSummary(User user, LocalDate date, int calorieDelta, int countDelta) {
+        if (!dailyCalorieSummaryRepository.existsByUserAndDate(user, date)) {
+            DailyCalorieSummary aggregated = aggregateSummary(user, date);
+            dailyCalorieSummaryRepository.insertIfAbsent(user.getId(), date,
+                    aggregated.getTotalCalories() - calorieDelta, aggregated.getEntryCount() - countDelta);
+        }
+        DailyCalorieSummary summary = dailyCalorieSummaryRepository.findForUpdate(user, date)
+                .orElseThrow(() -> new IllegalStateException("Summary row was not created"));
+
+        summary.setTotalCalories(summary.getTotalCalories() + calorieDelta);
+        summary.setEntryCount(summary.getEntryCount() + countDelta);
+        summary.setRevision(summary.getRevision() + 1);
+        return summary;
+    }
+
+    private static MealLogChange toChange(MealLog log, DailyCalorieSummary summary) {
+        MealLogDto entry = new MealLogDto(log.getId(), log.getName(), log.getCalories(), log.getAmount(), log.getEatenAt());
+        return new MealLogChange(entry, summary.getDate(), summary.getTotalCalories(), summary.getRevision());
+    }
+
+    /**
+     * MealLog を集計して、指定日の日別カロリー集計を組み立てる（保存はしない）。
+     *
+     * @param user 対象ユーザー
+     * @param date 対象日
+     * @return 集計結果を保持する未保存の集計エンティティ
+     */
+    private DailyCalorieSummary aggregateSummary(User user, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.atTime(LocalTime.MAX);
+
+        DailyCalorieSummary summary = new DailyCalorieSummary();
+        summary.setUser(user);
+        summary.setDate(date);
+        summary.setTotalCalories((int) mealLogRepository.sumCaloriesByUserAndEatenAtBetween(user, start, end));
+        summary.setEntryCount((int) mealLogRepository.countByUserAndEatenAtBetween(user, start, end));
+        return summary;
     }
 }
\ No newline at end of file
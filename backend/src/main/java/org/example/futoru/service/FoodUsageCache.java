@@ -0,0 +1,263 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodUsageCount;
+import org.example.futoru.repository.MealLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ユーザーごとの食品の利用状況（食品マスタからの記録）を保持するキャッシュ。
+ * <p>
+ * 初回参照時に meal_logs を1回だけ集計し、以降は食事記録のたびにメモリ上の値を更新する。
+ * ユーザーごとに次の2つを保持する：
+ * <ul>
+ * <li>利用回数: 食品検索の並び替えに使用する</li>
+ * <li>減衰スコア: 記録1回ごとに1を加え、半減期（{@code futoru.food-usage.half-life}）で減衰させた値。
+ *     「最近よく使う食品」の上位N件を、記録のたびに差分で更新する</li>
+ * </ul>
+ * どちらも並び替えの目安の値のため、記録の削除では減算しない。
+ * 保持するユーザー数は {@code futoru.food-catalog.user-cache-size} を上限とするLRUで管理する。
+ * </p>
+ * <p>
+ * 集計中に同じユーザーの記録がコミットされると、集計結果にその記録が含まれない場合がある。
+ * キャッシュに載っていないユーザーの記録があった場合はバージョン番号を進め、
+ * 集計開始時からバージョンが変わった集計結果はキャッシュしない（次回の参照時に集計し直す）。
+ * </p>
+ */
+@Component
+public class FoodUsageCache {
+
+    private final MealLogRepository mealLogRepository;
+
+    /** ユーザー数の上限 */
+    private final int userCacheSize;
+
+    /** 「最近よく使う食品」として保持する件数 */
+    private final int topSize;
+
+    /** 減衰スコアの半減期（秒） */
+    private final double halfLifeSeconds;
+
+    /**
+     * 減衰スコアの基準時刻（エポック秒）。
+     * 全食品のスコアは同じ割合で減衰するため、並び順の比較では減衰を計算せず、
+     * 記録1回あたり 2^((記録時刻 - 基準時刻) / 半減期) を加算した値をそのまま比較する。
+     */
+    private final long baseEpochSecond = System.currentTimeMillis() / 1000;
+
+    /** ユーザーIDごとの利用状況（アクセス順のLRU。アクセスは自身のロックで保護する） */
+    private final Map<Long, UserUsage> usageByUser;
+
+    /** キャッシュに載っていないユーザーの記録があるたびに進めるバージョン番号 */
+    private final AtomicLong loadVersion = new AtomicLong();
+
+    private final CacheStats stats = new CacheStats();
+
+    public FoodUsageCache(MealLogRepository mealLogRepository,
+                          @Value("${futoru.food-catalog.user-cache-size:1000}") int userCacheSize,
+                          @Value("${futoru.food-usage.top-size:10}") int topSize,
+                          @Value("${futoru.food-usage.half-life:14d}") Duration halfLife) {
+        this.mealLogRepository = mealLogRepository;
+        this.userCacheSize = userCacheSize;
+        this.topSize = topSize;
+        this.halfLifeSeconds = halfLife.toSeconds();
+        this.usageByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserUsage> eldest) {
+                return size() > FoodUsageCache.this.userCacheSize;
+            }
+        };
+    }
+
+    /**
+     * 指定ユーザーの食品ごとの利用回数を返す。
+     *
+     * @param userId 対象ユーザーのID
+     * @return 変更不可のMap（食品ID → 利用回数）。利用のない食品は含まれない
+     */
+    public Map<Long, Integer> getUsageCounts(Long userId) {
+        return getUsage(userId).counts;
+    }
+
+    /**
+     * 指定ユーザーが最近よく使う食品のIDを、減衰スコアの高い順に返す。
+     *
+     * @param userId 対象ユーザーのID
+     * @return 変更不可の食品IDリスト（最大 {@code futoru.food-usage.top-size} 件）
+     */
+    public List<Long> getTopFoodIds(Long userId) {
+        return getUsage(userId).top;
+    }
+
+    /**
+     * 食品の利用を1回記録する。
+     * <p>
+     * トランザクション中に呼ばれた場合はコミット後に反映する。
+     * キャッシュに載っていないユーザーは、次回参照時の集計に含まれるため加算しない
+     * （集計中の結果には含まれない可能性があるため、バージョン番号を進めてその結果を破棄させる）。
+     * </p>
+     *
+     * @param userId     対象ユーザーのID
+     * @param foodItemId 記録した食品マスタID
+     */
+    public void recordUse(Long userId, Long foodItemId) {
+        double weight = weightAt(System.currentTimeMillis() / 1000);
+        runAfterCommit(() -> {
+            synchronized (usageByUser) {
+                UserUsage usage = usageByUser.get(userId);
+                if (usage != null) {
+                    usage.add(foodItemId, weight, topSize);
+                } else {
+                    loadVersion.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * 利用状況のヒット・ミス回数を返す（ミスは meal_logs の集計回数と一致する）。
+     *
+     * @return このキャッシュの統計
+     */
+    public CacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * 利用状況を保持しているユーザー数を返す。
+     *
+     * @return 保持件数
+     */
+    public int size() {
+        synchronized (usageByUser) {
+            return usageByUser.size();
+        }
+    }
+
+    private UserUsage getUsage(Long userId) {
+        long version;
+        synchronized (usageByUser) {
+            UserUsage cached = usageByUser.get(userId);
+            if (cached != null) {
+                stats.hit();
+                return cached;
+            }
+            version = loadVersion.get();
+        }
+        stats.miss();
+
+        UserUsage loaded = new UserUsage();
+        for (FoodUsageCount usage : mealLogRepository.countFoodUsageByUserId(userId)) {
+            // 日単位の集計のため、その日の正午に記録したものとして重みを計算する
+            long epochSecond = usage.date().atTime(12, 0).atZone(ZoneId.systemDefault()).toEpochSecond();
+            loaded.load(usage.foodItemId(), usage.count(), weightAt(epochSecond) * usage.count());
+        }
+        loaded.rebuild(topSize);
+
+        synchronized (usageByUser) {
+            // 読み込み中に別のリクエストが登録した場合は、そちらを優先する
+            UserUsage current = usageByUser.get(userId);
+            if (current != null) {
+                return current;
+            }
+            if (loadVersion.get() == version) {
+                usageByUser.put(userId, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * 指定時刻の記録1回分の重み（基準時刻での値を1とした減衰スコア）。
+     */
+    private double weightAt(long epochSecond) {
+        return Math.pow(2, (epochSecond - baseEpochSecond) / halfLifeSeconds);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 1ユーザー分の利用状況。
+     * <p>
+     * 参照用の {@code counts} と {@code top} は変更不可のスナップショットで、更新時に差し替える。
+     * 更新は {@code usageByUser} のロック内で行う。
+     * </p>
+     */
+    private static final class UserUsage {
+
+        private final Map<Long, Integer> mutableCounts = new HashMap<>();
+        private final Map<Long, Double> scores = new HashMap<>();
+
+        private volatile Map<Long, Integer> counts = Map.of();
+        private volatile List<Long> top = List.of();
+
+        private void load(Long foodItemId, long count, double score) {
+            mutableCounts.merge(foodItemId, (int) count, Integer::sum);
+            scores.merge(foodItemId, score, Double::sum);
+        }
+
+        /**
+         * 全食品のスコアから上位N件を作り直す（初回読み込み時のみ）。
+         */
+        private void rebuild(int topSize) {
+            counts = Map.copyOf(mutableCounts);
+            top = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                    .limit(topSize)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        /**
+         * 記録1回分を加算し、上位N件を差分で更新する。
+         * <p>
+         * スコアは加算でのみ増えるため、順位が変わるのは記録した食品だけとなる。
+         * その食品を上位N件の中で適切な位置まで繰り上げる（N件に満たない・最下位を上回る場合は追加する）。
+         * </p>
+         */
+        private void add(Long foodItemId, double weight, int topSize) {
+            mutableCounts.merge(foodItemId, 1, Integer::sum);
+            counts = Map.copyOf(mutableCounts);
+            double score = scores.merge(foodItemId, weight, Double::sum);
+
+            List<Long> updated = new ArrayList<>(top);
+            updated.remove(foodItemId);
+            if (updated.size() >= topSize
+                    && (updated.isEmpty() || score <= scores.get(updated.get(updated.size() - 1)))) {
+                return;
+            }
+
+            int position = updated.size();
+            while (position > 0 && scores.get(updated.get(position - 1)) < score) {
+                position--;
+            }
+            updated.add(position, foodItemId);
+            if (updated.size() > topSize) {
+                updated.remove(updated.size() - 1);
+            }
+            top = List.copyOf(updated);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.futoru.service;
+
+/**
+ * 食品カタログの取り込みが既に実行中の場合の例外。
+ * <p>
+ * 取り込み中に発生するほかの {@link IllegalStateException}（レシピの循環参照など、データの不整合）と
+ * 区別するため、専用の例外とする。コントローラーでは 409 Conflict として返す。
+ * </p>
+ */
+public class ImportAlreadyRunningException extends RuntimeException {
+
+    public ImportAlreadyRunningException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,393 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.dto.ImportResult;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.DailyCalorieSummaryRepository;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * 他のアプリなどから書き出した体重記録・食事記録を、CSVから一括登録するサービスクラス。
+ * <p>
+ * CSVは1レコードずつ読み込み、{@value #CHUNK_SIZE} 件ごとに次の処理を行う：
+ * <ol>
+ * <li>値の検証（不正な行は登録せず、行番号とともに結果に含める）</li>
+ * <li>既存の記録との重複チェック（チャンク内の日付だけを対象とする）</li>
+ * <li>JDBCバッチによる一括登録</li>
+ * </ol>
+ * 体重1件ごとの保存（{@link WeightLogService#saveWeightLog}）と異なり、目標カロリーの再計算は最後に1回だけ行う。
+ * 食事記録の日別カロリー集計も、登録した期間をまとめて1回で集計し直す。
+ * 全体を1トランザクションで処理するため、途中で失敗した場合（読み込みの失敗を含む）は何も登録されない。
+ * CSVの形式はエクスポート（{@link ExportService}）と同じで、1行目のヘッダーは省略できる。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(rollbackFor = IOException.class)
+public class ImportService {
+
+    /** 1回の重複チェック・バッチ登録で扱う件数 */
+    static final int CHUNK_SIZE = 1000;
+
+    /** 結果に含める不正な行のメッセージ数の上限 */
+    public static final int MAX_ERROR_MESSAGES = 100;
+
+    /** 体重として受け付ける範囲 (kg) */
+    private static final double MIN_WEIGHT = 20.0;
+    private static final double MAX_WEIGHT = 300.0;
+
+    /** 1件の食事として受け付けるカロリーの上限 (kcal) */
+    private static final int MAX_MEAL_CALORIES = 10000;
+
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final DateTimeFormatter SLASH_DATE = DateTimeFormatter.ofPattern("yyyy/M/d");
+    private static final DateTimeFormatter SPACE_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd H:mm[:ss]");
+    private static final DateTimeFormatter SLASH_DATE_TIME = DateTimeFormatter.ofPattern("yyyy/M/d H:mm[:ss]");
+
+    private final WeightLogRepository weightLogRepository;
+    private final MealLogRepository mealLogRepository;
+    private final DailyCalorieSummaryRepository dailyCalorieSummaryRepository;
+    private final UserService userService;
+    private final BmrService bmrService;
+
+    /**
+     * 体重記録を一括登録する。
+     * <p>
+     * 列は「日付,体重」。同じ日付の記録が既にある場合は既存の記録を残し、ファイル内で同じ日付が
+     * 複数ある場合は後の行を採用する（前の行が別のチャンクで登録済みの場合も、後の行で上書きする）。
+     * 登録後、最新の体重で目標カロリーを1回だけ再計算する。
+     * </p>
+     *
+     * @param user 対象ユーザー
+     * @param in   CSVの入力（UTF-8。このメソッドではクローズしない）
+     * @return 登録結果
+     * @throws CsvFormatException CSVの構造が不正な場合
+     * @throws IOException        読み込みに失敗した場合
+     */
+    public ImportResult importWeights(User user, InputStream in) throws IOException {
+        Counter counter = new Counter();
+        Map<LocalDate, WeightPointDto> chunk = new LinkedHashMap<>();
+        Set<LocalDate> written = new HashSet<>();
+
+        CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            if (counter.isHeader(fields, ImportService::parseDate)) {
+                continue;
+            }
+
+            WeightPointDto point;
+            try {
+                if (fields.size() < 2) {
+                    throw new IllegalArgumentException("列が不足しています");
+                }
+                point = new WeightPointDto(parseDate(fields.get(0)), parseWeight(fields.get(1)));
+            } catch (RuntimeException e) {
+                counter.invalid(reader.lineNumber(), e);
+                continue;
+            }
+
+            if (chunk.put(point.date(), point) != null) {
+                counter.duplicates++;
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                writeWeights(user, chunk, written, counter);
+            }
+        }
+        writeWeights(user, chunk, written, counter);
+
+        if (counter.imported > 0) {
+            recalculateTargetCalories(user);
+        }
+        log.info("Weight import for user {}: imported={}, duplicates={}, invalid={}",
+                user.getId(), counter.imported, counter.duplicates, counter.invalid);
+        return counter.toResult();
+    }
+
+    /**
+     * 食事記録を一括登録する。
+     * <p>
+     * 列は「記録日時,食品名,カロリー,量」（量は省略可）。マスタを参照しない手入力の記録として登録する。
+     * 記録日時・食品名・カロリーがすべて同じ記録が既にある場合は登録しない。
+     * 登録後、対象期間の日別カロリー集計を作り直す。
+     * </p>
+     *
+     * @param user 対象ユーザー
+     * @param in   CSVの入力（UTF-8。このメソッドではクローズしない）
+     * @return 登録結果
+     * @throws CsvFormatException CSVの構造が不正な場合
+     * @throws IOException        読み込みに失敗した場合
+     */
+    public ImportResult importMeals(User user, InputStream in) throws IOException {
+        Counter counter = new Counter();
+        List<MealLogDto> chunk = new ArrayList<>(CHUNK_SIZE);
+        LocalDateTime[] range = new LocalDateTime[2];
+
+        CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            if (counter.isHeader(fields, ImportService::parseDateTime)) {
+                continue;
+            }
+
+            MealLogDto meal;
+            try {
+                meal = parseMeal(fields);
+            } catch (RuntimeException e) {
+                counter.invalid(reader.lineNumber(), e);
+                continue;
+            }
+
+            chunk.add(meal);
+            if (chunk.size() >= CHUNK_SIZE) {
+                writeMeals(user, chunk, counter, range);
+            }
+        }
+        writeMeals(user, chunk, counter, range);
+
+        if (range[0] != null) {
+            dailyCalorieSummaryRepository.rebuildRange(user.getId(),
+                    range[0].toLocalDate().atStartOfDay(), range[1].toLocalDate().plusDays(1).atStartOfDay());
+        }
+        log.info("Meal import for user {}: imported={}, duplicates={}, invalid={}",
+                user.getId(), counter.imported, counter.duplicates, counter.invalid);
+        return counter.toResult();
+    }
+
+    /**
+     * 既存の記録がない日付だけを登録する。
+     * <p>
+     * このファイルの前のチャンクで登録した日付（{@code written}）は既存の記録として扱わず、後の行の値で上書きする。
+     * 結果がチャンクの区切り位置によって変わらないようにするため。
+     * </p>
+     */
+    private void writeWeights(User user, Map<LocalDate, WeightPointDto> chunk, Set<LocalDate> written, Counter counter) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Iterator<WeightPointDto> iterator = chunk.values().iterator();
+        while (iterator.hasNext()) {
+            WeightPointDto point = iterator.next();
+            if (written.contains(point.date())) {
+                weightLogRepository.upsert(user.getId(), point.date(), point.weight());
+                counter.duplicates++;
+                iterator.remove();
+            }
+        }
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        for (LocalDate existing : weightLogRepository.findExistingDates(user.getId(), chunk.keySet())) {
+            chunk.remove(existing);
+            counter.duplicates++;
+        }
+
+        weightLogRepository.insertAll(user.getId(), List.copyOf(chunk.values()));
+        counter.imported += chunk.size();
+        written.addAll(chunk.keySet());
+        chunk.clear();
+    }
+
+    /**
+     * 既存の記録（およびチャンク内）と重複しない食事記録だけを登録する。
+     * <p>
+     * 重複チェックでは、チャンクに含まれる日付の既存の記録だけを読み込む。
+     * 連続する日付はまとめて1回のクエリで読み込むため、日付順に並んだファイルではチャンクごとに1回程度となる。
+     * 日付が飛び飛びのファイルや数年分にわたるファイルでも、記録のない日の履歴は読み込まない。
+     * </p>
+     */
+    private void writeMeals(User user, List<MealLogDto> chunk, Counter counter, LocalDateTime[] range) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        TreeSet<LocalDate> days = new TreeSet<>();
+        for (MealLogDto meal : chunk) {
+            days.add(meal.eatenAt().toLocalDate());
+        }
+
+        Set<MealKey> seen = new HashSet<>();
+        LocalDate runStart = null;
+        LocalDate runEnd = null;
+        for (LocalDate day : days) {
+            if (runEnd != null && day.equals(runEnd.plusDays(1))) {
+                runEnd = day;
+                continue;
+            }
+            if (runStart != null) {
+                loadExistingKeys(user, runStart, runEnd, seen);
+            }
+            runStart = day;
+            runEnd = day;
+        }
+        loadExistingKeys(user, runStart, runEnd, seen);
+
+        List<MealLogDto> inserts = new ArrayList<>(chunk.size());
+        for (MealLogDto meal : chunk) {
+            if (seen.add(MealKey.of(meal))) {
+                inserts.add(meal);
+            } else {
+                counter.duplicates++;
+            }
+        }
+
+        mealLogRepository.insertAll(user.getId(), inserts);
+        counter.imported += inserts.size();
+        chunk.clear();
+
+        if (!inserts.isEmpty()) {
+            LocalDateTime min = days.first().atStartOfDay();
+            LocalDateTime max = days.last().atStartOfDay();
+            range[0] = range[0] == null || min.isBefore(range[0]) ? min : range[0];
+            range[1] = range[1] == null || max.isAfter(range[1]) ? max : range[1];
+        }
+    }
+
+    /**
+     * 指定した期間（両端の日を含む）の既存の食事記録の重複判定キーを読み込む。
+     */
+    private void loadExistingKeys(User user, LocalDate from, LocalDate to, Set<MealKey> keys) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay().minusNanos(1000);
+        for (MealLogDto existing : mealLogRepository.findDtosByUserAndEatenAtBetween(user, start, end)) {
+            keys.add(MealKey.of(existing));
+        }
+    }
+
+    /**
+     * 最新の体重で目標カロリーを再計算する（プロフィールが未設定の場合は何もしない）。
+     */
+    private void recalculateTargetCalories(User user) {
+        if (user.getHeight() == null || user.getAge() == null) {
+            return;
+        }
+        weightLogRepository.findFirstByUserOrderByDateDesc(user).ifPresent(latest ->
+                userService.updateTargetCalories(user, bmrService.calculateTargetCalories(user, latest.getWeight())));
+    }
+
+    private static MealLogDto parseMeal(List<String> fields) {
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("列が不足しています");
+        }
+
+        LocalDateTime eatenAt = parseDateTime(fields.get(0));
+
+        String name = fields.get(1).strip();
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("食品名は1〜" + MAX_NAME_LENGTH + "文字で入力してください");
+        }
+
+        int calories = Integer.parseInt(fields.get(2).strip());
+        if (calories < 0 || calories > MAX_MEAL_CALORIES) {
+            throw new IllegalArgumentException("カロリーが範囲外です: " + calories);
+        }
+
+        double amount = 1.0;
+        if (fields.size() > 3 && !fields.get(3).isBlank()) {
+            amount = Double.parseDouble(fields.get(3).strip());
+            // "NaN" や "Infinity" も数値として読めるため、範囲チェックの前に除外する
+            if (!Double.isFinite(amount) || amount <= 0) {
+                throw new IllegalArgumentException("量が範囲外です: " + amount);
+            }
+        }
+        return new MealLogDto(null, name, calories, amount, eatenAt);
+    }
+
+    private static LocalDate parseDate(String value) {
+        String text = value.strip();
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            return LocalDate.parse(text, SLASH_DATE);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        String text = value.strip();
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(text, text.contains("/") ? SLASH_DATE_TIME : SPACE_DATE_TIME);
+        }
+    }
+
+    private static double parseWeight(String value) {
+        double weight = Double.parseDouble(value.strip());
+        if (!Double.isFinite(weight) || weight < MIN_WEIGHT || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("体重が範囲外です: " + weight);
+        }
+        return weight;
+    }
+
+    /** 食事記録の重複判定に使うキー */
+    private record MealKey(LocalDateTime eatenAt, String name, int calories) {
+        static MealKey of(MealLogDto meal) {
+            return new MealKey(meal.eatenAt().withNano(0), meal.name(), meal.calories());
+        }
+    }
+
+    /** 件数の集計と、不正な行のメッセージ */
+    private static final class Counter {
+
+        private int imported;
+        private int duplicates;
+        private int invalid;
+        private final List<String> errors = new ArrayList<>();
+        private boolean firstRecord = true;
+
+        /**
+         * 最初のレコードの1列目が日付として読めない場合はヘッダー行とみなす。
+         */
+        private boolean isHeader(List<String> fields, Function<String, ?> firstColumnParser) {
+            if (!firstRecord) {
+                return false;
+            }
+            firstRecord = false;
+            try {
+                firstColumnParser.apply(fields.get(0));
+                return false;
+            } catch (RuntimeException e) {
+                return true;
+            }
+        }
+
+        private void invalid(int lineNumber, RuntimeException e) {
+            invalid++;
+            if (errors.size() < MAX_ERROR_MESSAGES) {
+                errors.add(lineNumber + "行目: " + e.getMessage());
+            }
+        }
+
+        private ImportResult toResult() {
+            return new ImportResult(imported, duplicates, invalid, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.RecipeComponent;
+import org.example.futoru.dto.RecipeEdge;
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.repository.FoodItemRepository;
+import org.example.futoru.repository.RecipeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * レシピの依存関係グラフ（recipes.parent_food_id → child_food_id）を扱うサービスクラス。
+ * <p>
+ * 料理（DISH）は食材を、定食（MEAL_SET）は料理を材料に含むため、依存関係は有向非巡回グラフとなる。
+ * 親料理のカロリーは材料のカロリーから算出した派生値であるため、材料のカロリーが変わった場合は
+ * {@link #propagateFrom(Collection)} で、その食品を（間接的に）含む親料理だけを再計算する。
+ * </p>
+ * <ul>
+ * <li>祖先の探索: 階層ごとに1回のクエリで親をたどる（クエリ数はレシピの深さに比例）</li>
+ * <li>再計算: 祖先の構成要素を1回のクエリで読み込み、トポロジカル順（材料 → 親）に計算する</li>
+ * <li>更新: 値が変わった料理だけを1トランザクション内で更新する（JDBCバッチで送信される）</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class RecipeGraphService {
+
+    private final RecipeRepository recipeRepository;
+    private final FoodItemRepository foodItemRepository;
+    private final FoodCatalogCache foodCatalogCache;
+
+    /**
+     * 指定された食品のカロリー変更を、それを材料に含むすべての親料理へ反映する。
+     * <p>
+     * 呼び出し前に、変更された食品自体のカロリーを更新しておくこと（同一トランザクション内でよい）。
+     * 影響を受けない料理は読み込まない。
+     * </p>
+     *
+     * @param changedFoodIds カロリーが変更された食品のIDリスト
+     * @return カロリーが変わった親料理の数
+     * @throws IllegalStateException 依存関係に循環が含まれている場合
+     */
+    @Transactional
+    public int propagateFrom(Collection<Long> changedFoodIds) {
+        if (changedFoodIds.isEmpty()) {
+            return 0;
+        }
+
+        List<RecipeEdge> edges = new ArrayList<>();
+        Set<Long> ancestors = collectAncestors(changedFoodIds, edges);
+        if (ancestors.isEmpty()) {
+            return 0;
+        }
+
+        // 親料理ごとの構成要素（材料の現在のカロリーを含む）
+        Map<Long, List<RecipeComponent>> componentsByParent = new HashMap<>();
+        for (RecipeComponent component : recipeRepository.findComponentsByParentIds(ancestors)) {
+            componentsByParent.computeIfAbsent(component.parentId(), k -> new ArrayList<>()).add(component);
+        }
+
+        Map<Long, Integer> recalculated = new HashMap<>();
+        for (Long foodId : topologicalOrder(ancestors, edges)) {
+            int total = 0;
+            for (RecipeComponent component : componentsByParent.getOrDefault(foodId, List.of())) {
+                total += componentCalories(component, recalculated);
+            }
+            recalculated.put(foodId, total);
+        }
+
+        int changed = 0;
+        Set<Long> owners = new HashSet<>();
+        boolean systemChanged = false;
+        for (FoodItem food : foodItemRepository.findAllById(ancestors)) {
+            int calories = recalculated.get(food.getId());
+            if (!Objects.equals(food.getCalories(), calories)) {
+                // 管理状態のエンティティを更新し、フラッシュ時にまとめてUPDATEさせる
+                food.setCalories(calories);
+                changed++;
+                if (food.getUser() == null) {
+                    systemChanged = true;
+                } else {
+                    owners.add(food.getUser().getId());
+                }
+            }
+        }
+
+        owners.forEach(foodCatalogCache::invalidateUserFoods);
+        if (systemChanged) {
+            foodCatalogCache.invalidateSystemFoods();
+        }
+        return changed;
+    }
+
+    /**
+     * 指定された食品を（間接的に）材料に含む親料理のIDをすべて取得する。
+     * 階層ごとに1回のクエリで上方向へたどる。
+     *
+     * @param startIds 探索を開始する食品のIDリスト
+     * @param edges    たどった辺を格納するリスト
+     * @return 祖先となる親料理のID（開始食品自身は、循環していない限り含まれない）
+     */
+    private Set<Long> collectAncestors(Collection<Long> startIds, List<RecipeEdge> edges) {
+        Set<Long> ancestors = new LinkedHashSet<>();
+        Set<Long> frontier = new HashSet<>(startIds);
+
+        while (!frontier.isEmpty()) {
+            Set<Long> next = new HashSet<>();
+            for (RecipeEdge edge : recipeRepository.findEdgesByChildIds(frontier)) {
+                edges.add(edge);
+                if (ancestors.add(edge.parentId())) {
+                    next.add(edge.parentId());
+                }
+            }
+            frontier = next;
+        }
+        return ancestors;
+    }
+
+    /**
+     * 再計算対象の料理を、材料が先・親が後になる順（Kahnのアルゴリズム）に並べる。
+     * 対象外の材料（変更された食品や影響のない食品）は計算済みとして扱う。
+     *
+     * @throws IllegalStateException 依存関係に循環が含まれている場合
+     */
+    private static List<Long> topologicalOrder(Set<Long> targets, List<RecipeEdge> edges) {
+        Map<Long, Integer> pendingChildren = new HashMap<>();
+        Map<Long, List<Long>> parentsByChild = new HashMap<>();
+        for (Long id : targets) {
+            pendingChildren.put(id, 0);
+        }
+        for (RecipeEdge edge : edges) {
+            if (targets.contains(edge.childId())) {
+                pendingChildren.merge(edge.parentId(), 1, Integer::sum);
+                parentsByChild.computeIfAbsent(edge.childId(), k -> new ArrayList<>()).add(edge.parentId());
+            }
+        }
+
+        Deque<Long> ready = new ArrayDeque<>();
+        pendingChildren.forEach((id, count) -> {
+            if (count == 0) {
+                ready.add(id);
+            }
+        });
+
+        List<Long> order = new ArrayList<>(targets.size());
+        while (!ready.isEmpty()) {
+            Long id = ready.poll();
+            order.add(id);
+            for (Long parentId : parentsByChild.getOrDefault(id, List.of())) {
+                if (pendingChildren.merge(parentId, -1, Integer::sum) == 0) {
+                    ready.add(parentId);
+                }
+            }
+        }
+
+        if (order.size() != targets.size()) {
+            throw new IllegalStateException("レシピの依存関係に循環参照が含まれています");
+        }
+        return order;
+    }
+
+    /**
+     * 構成要素1件分のカロリーを算出する（{@link RecipeService#calculateTotalCalories} と同じ規則）。
+     * 材料が再計算済みの料理であれば、その新しい値を使用する。
+     */
+    private static int componentCalories(RecipeComponent component, Map<Long, Integer> recalculated) {
+        if (component.childId() == null) {
+            return component.manualCalories() != null ? component.manualCalories() : 0;
+        }
+
+        Integer childCalories = recalculated.get(component.childId());
+        if (childCalories == null) {
+            childCalories = component.childCalories() != null ? component.childCalories() : 0;
+        }
+        double amount = component.amount() != null ? component.amount() : 1.0;
+        return (int) Math.round(childCalories * amount);
+    }
+}
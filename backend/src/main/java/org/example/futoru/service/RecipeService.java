@@ -1,6 +1,9 @@
 package org.example.futoru.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.RecipeNodeDto;
+import org.example.futoru.dto.RecipeTreeDto;
+import org.example.futoru.dto.RecipeTreeRow;
 import org.example.futoru.form.RecipeForm;
 import org.example.futoru.entity.FoodItem;
 import org.example.futoru.entity.Recipe;
@@ -10,9 +13,13 @@ import org.example.futoru.repository.RecipeRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -27,15 +34,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RecipeService {
 
+    /** レシピツリーを展開する階層の上限（定食 → 料理 → 食材 の想定に対して十分な余裕を持たせる） */
+    private static final int MAX_TREE_DEPTH = 16;
+
     private final FoodItemRepository foodItemRepository;
     private final RecipeRepository recipeRepository;
     private final UserService userService;
+    private final FoodCatalogCache foodCatalogCache;
 
     /**
      * フォームデータをもとに新しいレシピ（親FoodItem）とその構成要素（Recipe）を保存する。
      * <p>
-     * 親となる料理データを作成後、マスタ食材を一括取得して紐付けを行う。
-     * 最後に全材料の合計カロリーを算出し、親データを更新する。
+     * マスタ食材を一括取得して合計カロリーを先に算出し、親となる料理データを1回だけ登録する。
+     * 構成要素は JDBC バッチでまとめて登録するため、材料の数に関わらずDBとの往復回数は一定となる。
+     * 作成直後の料理を材料に含むレシピは存在しないため、この時点で循環参照が生じることはない。
+     * 新しいMy食品が増えるため、コミット後に作成者の食品カタログキャッシュを無効化する。
      * </p>
      *
      * @param username 作成者のユーザー名
@@ -45,15 +58,6 @@ public class RecipeService {
     public void createRecipe(String username, RecipeForm form) {
         User user = userService.getUserByUsername(username);
 
-        FoodItem parentFood = new FoodItem();
-        parentFood.setUser(user);
-        parentFood.setName(form.getName());
-        parentFood.setUnit("人前");
-        parentFood.setType(form.getType() != null ? form.getType() : "DISH");
-        parentFood.setCalories(0);
-
-        foodItemRepository.save(parentFood);
-
         List<Long> ids = form.getIngredients().stream()
                 .map(RecipeForm.IngredientDto::getFoodItemId)
                 .filter(Objects::nonNull)
@@ -62,37 +66,147 @@ public class RecipeService {
         Map<Long, FoodItem> foodMap = foodItemRepository.findAllById(ids).stream()
                 .collect(Collectors.toMap(FoodItem::getId, Function.identity()));
 
-        int totalCalories = 0;
+        // 存在しない材料はここで検出されるため、親料理の登録前に処理が中断される
+        int totalCalories = calculateTotalCalories(form.getIngredients(), foodMap);
 
+        FoodItem parentFood = new FoodItem();
+        parentFood.setUser(user);
+        parentFood.setName(form.getName());
+        parentFood.setUnit("人前");
+        parentFood.setType(form.getType() != null ? form.getType() : "DISH");
+        parentFood.setCalories(totalCalories);
+
+        foodItemRepository.save(parentFood);
+
+        List<Recipe> recipes = new ArrayList<>(form.getIngredients().size());
         for (RecipeForm.IngredientDto item : form.getIngredients()) {
             Recipe recipe = new Recipe();
             recipe.setParentFood(parentFood);
 
             if (item.getFoodItemId() != null) {
-                FoodItem childFood = foodMap.get(item.getFoodItemId());
-
-                if (childFood == null) {
-                    throw new RuntimeException("Ingredient not found ID: " + item.getFoodItemId());
-                }
-
-                recipe.setChildFood(childFood);
+                recipe.setChildFood(foodMap.get(item.getFoodItemId()));
                 recipe.setAmount(item.getAmount() != null ? item.getAmount() : 1.0);
-
-                totalCalories += (int) Math.round(childFood.getCalories() * recipe.getAmount());
-
             } else {
                 recipe.setChildFood(null);
                 recipe.setManualName(item.getManualName());
                 recipe.setManualCalories(item.getManualCalories());
                 recipe.setAmount(1.0);
+            }
 
-                totalCalories += (item.getManualCalories() != null ? item.getManualCalories() : 0);
+            recipes.add(recipe);
+        }
+
+        recipeRepository.insertAll(recipes);
+
+        foodCatalogCache.invalidateUserFoods(user.getId());
+    }
+
+    /**
+     * 指定された料理（レシピ）の構成要素ツリーを取得する。
+     * <p>
+     * 料理本体の取得と、再帰CTEによる全階層の構成要素の取得の2クエリで完結する
+     * （定食 → 料理 → 食材のように階層が深くても、ノードごとの追加クエリは発生しない）。
+     * 取得した構成要素はメモリ上で親 → 子の深さ優先順に展開する。
+     * </p>
+     *
+     * @param username   閲覧するユーザーの名前
+     * @param foodItemId 料理のID
+     * @return 構成要素ツリー
+     * @throws IllegalArgumentException 指定されたIDの食品が存在しない場合
+     * @throws SecurityException        他のユーザーのMy食品を指定した場合
+     */
+    @Transactional(readOnly = true)
+    public RecipeTreeDto getRecipeTree(String username, Long foodItemId) {
+        User user = userService.getUserByUsername(username);
+
+        FoodItem root = foodItemRepository.findById(foodItemId)
+                .orElseThrow(() -> new IllegalArgumentException("Food item not found ID: " + foodItemId));
+
+        if (root.getUser() != null && !root.getUser().getId().equals(user.getId())) {
+            throw new SecurityException("You cannot view this recipe");
+        }
+
+        Map<Long, List<RecipeTreeRow>> rowsByParent = new HashMap<>();
+        for (RecipeTreeRow row : recipeRepository.findTreeRows(foodItemId)) {
+            rowsByParent.computeIfAbsent(row.getParentFoodId(), k -> new ArrayList<>()).add(row);
+        }
+
+        List<RecipeNodeDto> nodes = new ArrayList<>();
+        Set<Long> path = new HashSet<>();
+        path.add(foodItemId);
+        appendNodes(foodItemId, null, 1, rowsByParent, path, nodes);
+
+        return new RecipeTreeDto(root.getId(), root.getName(), root.getType(), root.getUnit(), root.getCalories(), nodes);
+    }
+
+    /**
+     * 指定された料理の構成要素を、子孫も含めて深さ優先順に追加する。
+     * 同じ経路上に同じ料理が再び現れた場合（循環）や、階層が上限を超えた場合はそれ以上展開しない。
+     */
+    private static void appendNodes(Long parentFoodId, Long parentRecipeId, int depth,
+                                    Map<Long, List<RecipeTreeRow>> rowsByParent, Set<Long> path,
+                                    List<RecipeNodeDto> nodes) {
+        if (depth > MAX_TREE_DEPTH) {
+            return;
+        }
+
+        for (RecipeTreeRow row : rowsByParent.getOrDefault(parentFoodId, List.of())) {
+            Long childId = row.getChildFoodId();
+            nodes.add(toNode(row, parentRecipeId, depth));
+
+            if (childId != null && rowsByParent.containsKey(childId) && path.add(childId)) {
+                appendNodes(childId, row.getRecipeId(), depth + 1, rowsByParent, path, nodes);
+                path.remove(childId);
             }
+        }
+    }
 
-            recipeRepository.save(recipe);
+    /**
+     * 構成要素1件をノードに変換する（カロリーは {@link Recipe#getCalculatedCalories()} と同じ規則）。
+     */
+    private static RecipeNodeDto toNode(RecipeTreeRow row, Long parentRecipeId, int depth) {
+        if (row.getChildFoodId() == null) {
+            int calories = row.getManualCalories() != null ? row.getManualCalories() : 0;
+            return new RecipeNodeDto(row.getRecipeId(), parentRecipeId, depth, null,
+                    row.getManualName(), null, row.getAmount(), calories);
         }
 
-        parentFood.setCalories(totalCalories);
-        foodItemRepository.save(parentFood);
+        double amount = row.getAmount() != null ? row.getAmount() : 1.0;
+        int unitCalories = row.getChildCalories() != null ? row.getChildCalories() : 0;
+        return new RecipeNodeDto(row.getRecipeId(), parentRecipeId, depth, row.getChildFoodId(),
+                row.getChildName(), row.getChildType(), row.getAmount(), (int) Math.round(unitCalories * amount));
+    }
+
+    /**
+     * レシピの材料リストから合計カロリーを算出する。
+     * <p>
+     * マスタ食材は「基準カロリー × 使用量」を材料ごとに四捨五入して加算し、
+     * 手入力の材料は入力されたカロリーをそのまま加算する（未入力は0として扱う）。
+     * DBアクセスを伴わない純粋な計算のため、ベンチマークからも直接呼び出せる。
+     * </p>
+     *
+     * @param ingredients 材料リスト
+     * @param foodMap     材料に含まれるマスタ食材（ID → FoodItem）
+     * @return 合計カロリー (kcal)
+     * @throws RuntimeException マスタ食材が foodMap に存在しない場合
+     */
+    public static int calculateTotalCalories(List<RecipeForm.IngredientDto> ingredients, Map<Long, FoodItem> foodMap) {
+        int totalCalories = 0;
+
+        for (RecipeForm.IngredientDto item : ingredients) {
+            if (item.getFoodItemId() != null) {
+                FoodItem childFood = foodMap.get(item.getFoodItemId());
+
+                if (childFood == null) {
+                    throw new RuntimeException("Ingredient not found ID: " + item.getFoodItemId());
+                }
+
+                double amount = item.getAmount() != null ? item.getAmount() : 1.0;
+                totalCalories += (int) Math.round(childFood.getCalories() * amount);
+            } else {
+                totalCalories += (item.getManualCalories() != null ? item.getManualCalories() : 0);
+            }
+        }
+        return totalCalories;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,287 @@
+package org.example.futoru.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.Gender;
+import org.example.futoru.dto.TargetRecomputeStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * 全ユーザーの目標カロリーを一括で再計算するサービスクラス。
+ * <p>
+ * 目標カロリーは体重記録・プロフィール更新のたびにユーザー単位で再計算しているが、
+ * 計算式の定数（余剰カロリーや活動レベルの係数）を変更した場合は既存ユーザーの値が古いまま残る。
+ * このジョブは次の流れで全ユーザーを処理する：
+ * <ol>
+ * <li>ユーザーと最新の体重を1つの結合クエリで、ユーザーID順にチャンク単位で読み込む（キーセットページング）</li>
+ * <li>チャンク内の目標カロリーを {@link BmrService#targetCalories} で並列に計算する</li>
+ * <li>値が変わったユーザーだけを JDBC のバッチ更新で書き戻す（チャンクごとに1トランザクション）</li>
+ * </ol>
+ * 保持するのは1チャンク分のプリミティブ配列だけなので、ユーザー数に関わらずヒープ使用量は一定となる。
+ * MySQL でバッチ更新を1往復にまとめるため、接続URLに {@code rewriteBatchedStatements=true} を指定すること。
+ * </p>
+ */
+@Slf4j
+@Service
+public class TargetCalorieRecomputeService {
+
+    /**
+     * 指定ID以降のユーザーと、その最新の体重を取得する。
+     * 最新日の特定は (user_id, date) の一意インデックスで1行に絞り込まれる。
+     */
+    private static final String SELECT_CHUNK = """
+            SELECT u.id, u.height, u.age, u.gender, u.activity_level, u.target_calories, w.weight
+            FROM users u
+            JOIN weight_logs w
+              ON w.user_id = u.id
+             AND w.date = (SELECT MAX(w2.date) FROM weight_logs w2 WHERE w2.user_id = u.id)
+            WHERE u.id > ?
+              AND u.height IS NOT NULL
+              AND u.age IS NOT NULL
+              AND w.weight IS NOT NULL
+            ORDER BY u.id
+            LIMIT ?
+            """;
+
+    /**
+     * 目標カロリーを更新する。
+     * 読み込み後に体重記録などで値が変わっていた場合は、そちらを優先して上書きしない。
+     */
+    private static final String UPDATE_TARGET = "UPDATE users SET target_calories = ? WHERE id = ? AND target_calories <=> ?";
+
+    /** 目標カロリーが未設定であることを表す値 */
+    private static final int NO_TARGET = Integer.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCache userCache;
+
+    /** ジョブを実行する非同期実行器（virtual プロファイルでは仮想スレッド） */
+    private final AsyncTaskExecutor taskExecutor;
+
+    /** 1回のクエリ・バッチ更新で扱うユーザー数 */
+    private final int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String lastError;
+
+    public TargetCalorieRecomputeService(JdbcTemplate jdbcTemplate,
+                                         TransactionTemplate transactionTemplate,
+                                         UserCache userCache,
+                                         @Qualifier("applicationTaskExecutor") AsyncTaskExecutor taskExecutor,
+                                         @Value("${futoru.target-recompute.chunk-size:2000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userCache = userCache;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 再計算ジョブをバックグラウンドで開始する。
+     *
+     * @return 開始直後の進捗状況
+     * @throws IllegalStateException 既にジョブが実行中の場合
+     */
+    public TargetRecomputeStatus start() {
+        begin();
+        try {
+            taskExecutor.execute(this::runJob);
+        } catch (RuntimeException e) {
+            // 実行器がタスクを受け付けなかった場合は、実行中の状態を解除する
+            lastError = e.getMessage();
+            finishedAt = System.nanoTime();
+            running.set(false);
+            throw e;
+        }
+        return getStatus();
+    }
+
+    /**
+     * 再計算ジョブを呼び出し元のスレッドで実行し、完了まで待つ。
+     *
+     * @return 完了時の進捗状況
+     * @throws IllegalStateException 既にジョブが実行中の場合
+     */
+    public TargetRecomputeStatus recomputeAll() {
+        begin();
+        runJob();
+        return getStatus();
+    }
+
+    /**
+     * 現在（または直近）のジョブの進捗状況を返す。
+     *
+     * @return 進捗状況
+     */
+    public TargetRecomputeStatus getStatus() {
+        boolean active = running.get();
+        long start = startedAt;
+        long end = active ? System.nanoTime() : finishedAt;
+        long elapsedNanos = start == 0 ? 0 : Math.max(end - start, 0);
+
+        long scannedUsers = scanned.get();
+        double rate = elapsedNanos == 0 ? 0 : scannedUsers * 1_000_000_000.0 / elapsedNanos;
+
+        return new TargetRecomputeStatus(active, scannedUsers, updated.get(),
+                elapsedNanos / 1_000_000, Math.round(rate * 10.0) / 10.0, lastError);
+    }
+
+    private void begin() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("目標カロリーの再計算は既に実行中です");
+        }
+        scanned.set(0);
+        updated.set(0);
+        lastError = null;
+        finishedAt = 0;
+        startedAt = System.nanoTime();
+    }
+
+    private void runJob() {
+        log.info("Target calorie recompute started (chunkSize={})", chunkSize);
+        try {
+            Chunk chunk = new Chunk(chunkSize);
+            long lastId = 0;
+
+            do {
+                chunk.load(jdbcTemplate, lastId);
+                if (chunk.size == 0) {
+                    break;
+                }
+
+                chunk.computeTargets();
+                int changed = transactionTemplate.execute(status -> chunk.writeChanged(jdbcTemplate));
+
+                lastId = chunk.ids[chunk.size - 1];
+                scanned.addAndGet(chunk.size);
+                updated.addAndGet(changed);
+
+                TargetRecomputeStatus progress = getStatus();
+                log.info("Target calorie recompute progress: scanned={}, updated={}, lastUserId={}, {} users/s",
+                        progress.scannedUsers(), progress.updatedUsers(), lastId, progress.usersPerSecond());
+            } while (chunk.size == chunkSize);
+
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Target calorie recompute failed after {} users", scanned.get(), e);
+        } finally {
+            finishedAt = System.nanoTime();
+            // キャッシュ中のユーザーは目標カロリーが古いため、まとめて破棄する
+            userCache.clear();
+            running.set(false);
+        }
+
+        TargetRecomputeStatus result = getStatus();
+        log.info("Target calorie recompute finished: scanned={}, updated={}, elapsed={}ms, {} users/s",
+                result.scannedUsers(), result.updatedUsers(), result.elapsedMillis(), result.usersPerSecond());
+    }
+
+    /**
+     * 1チャンク分のユーザーデータ。
+     * チャンクごとにオブジェクトを生成しないよう、配列を使い回す。
+     */
+    private static final class Chunk {
+
+        private final long[] ids;
+        private final double[] heights;
+        private final int[] ages;
+        private final Gender[] genders;
+        private final ActivityLevel[] activityLevels;
+        private final double[] weights;
+        private final int[] currentTargets;
+        private final int[] newTargets;
+        private int size;
+
+        private Chunk(int capacity) {
+            ids = new long[capacity];
+            heights = new double[capacity];
+            ages = new int[capacity];
+            genders = new Gender[capacity];
+            activityLevels = new ActivityLevel[capacity];
+            weights = new double[capacity];
+            currentTargets = new int[capacity];
+            newTargets = new int[capacity];
+        }
+
+        private void load(JdbcTemplate jdbcTemplate, long afterId) {
+            size = 0;
+            jdbcTemplate.query(SELECT_CHUNK, (RowCallbackHandler) rs -> {
+                int i = size++;
+                ids[i] = rs.getLong(1);
+                heights[i] = rs.getDouble(2);
+                ages[i] = rs.getInt(3);
+                genders[i] = Gender.fromCode(rs.getString(4));
+                activityLevels[i] = ActivityLevel.fromCode(rs.getString(5));
+                int target = rs.getInt(6);
+                currentTargets[i] = rs.wasNull() ? NO_TARGET : target;
+                weights[i] = rs.getDouble(7);
+            }, afterId, ids.length);
+        }
+
+        private void computeTargets() {
+            IntStream.range(0, size).parallel().forEach(i ->
+                    newTargets[i] = BmrService.targetCalories(weights[i], heights[i], ages[i], genders[i], activityLevels[i]));
+        }
+
+        /**
+         * 目標カロリーが変わったユーザーだけをバッチ更新する。
+         *
+         * @return 更新したユーザー数
+         */
+        private int writeChanged(JdbcTemplate jdbcTemplate) {
+            int[] changed = IntStream.range(0, size)
+                    .filter(i -> newTargets[i] != currentTargets[i])
+                    .toArray();
+            if (changed.length == 0) {
+                return 0;
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_TARGET, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int index) throws SQLException {
+                    int i = changed[index];
+                    ps.setInt(1, newTargets[i]);
+                    ps.setLong(2, ids[i]);
+                    if (currentTargets[i] == NO_TARGET) {
+                        ps.setNull(3, Types.INTEGER);
+                    } else {
+                        ps.setInt(3, currentTargets[i]);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return changed.length;
+                }
+            });
+
+            // バッチが書き換えられた場合、ドライバーは件数の代わりに SUCCESS_NO_INFO を返すため更新扱いとする
+            int written = 0;
+            for (int count : counts) {
+                if (count != 0) {
+                    written++;
+                }
+            }
+            return written;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.futoru.service;
+
+import org.example.futoru.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ユーザー名から解決した User エンティティを保持するキャッシュ。
+ * <p>
+ * 1回の画面表示で複数のサービスが同じユーザーを検索するため、2段階でキャッシュする：
+ * <ul>
+ * <li>リクエスト単位のメモ: 同一リクエスト内では必ず同じインスタンスを返す</li>
+ * <li>リクエスト間のキャッシュ: TTL付き（{@code futoru.user-cache.ttl}、0で無効）</li>
+ * </ul>
+ * プロフィールや目標カロリーを更新する処理は、更新後に必ず {@link #evict(String)} を呼ぶこと。
+ * </p>
+ */
+@Component
+public class UserCache {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = UserCache.class.getName() + ".";
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final CacheStats stats = new CacheStats();
+
+    public UserCache(@Value("${futoru.user-cache.ttl:30s}") Duration ttl,
+                     @Value("${futoru.user-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * キャッシュ済みのユーザーを取得する。
+     *
+     * @param username ユーザー名
+     * @return キャッシュ済みのユーザー（存在しない・期限切れの場合はnull）
+     */
+    public User get(String username) {
+        User memo = getFromRequest(username);
+        if (memo != null) {
+            stats.hit();
+            return memo;
+        }
+        if (ttlNanos <= 0) {
+            stats.miss();
+            return null;
+        }
+
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            stats.miss();
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() < 0) {
+            entries.remove(username, entry);
+            stats.miss();
+            return null;
+        }
+
+        stats.hit();
+        putToRequest(username, entry.user());
+        return entry.user();
+    }
+
+    /**
+     * 解決したユーザーをキャッシュに登録する。
+     *
+     * @param user DBから取得したユーザー
+     */
+    public void put(User user) {
+        putToRequest(user.getUsername(), user);
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            purgeExpired();
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(user.getUsername(), new Entry(user, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * 指定ユーザーのキャッシュ（リクエスト内のメモを含む）を破棄する。
+     * <p>
+     * トランザクション中に呼ばれた場合は、コミット後にもう一度破棄する。
+     * コミット前に並行リクエストが読み込んだ古い状態が残らないようにするため。
+     * </p>
+     *
+     * @param username ユーザー名
+     */
+    public void evict(String username) {
+        entries.remove(username);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + username, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * リクエスト間のキャッシュをすべて破棄する。
+     * 一括更新のように、多数のユーザーを直接SQLで更新した後に使用する。
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * ヒット・ミス回数を返す（リクエスト内のメモからの取得もヒットとして数える）。
+     *
+     * @return このキャッシュの統計
+     */
+    public CacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * リクエスト間のキャッシュに保持しているユーザー数を返す。
+     *
+     * @return 保持件数（期限切れを含む）
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt() - now < 0);
+    }
+
+    private User getFromRequest(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (User) attributes.getAttribute(REQUEST_ATTRIBUTE_PREFIX + username, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private void putToRequest(String username, User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_ATTRIBUTE_PREFIX + username, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
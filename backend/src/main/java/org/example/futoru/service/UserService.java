@@ -7,11 +7,13 @@ import org.example.futoru.entity.WeightLog;
 import org.example.futoru.repository.UserRepository;
 import org.example.futoru.repository.WeightLogRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 
@@ -20,16 +22,20 @@ import java.time.LocalDate;
  * <p>
  * アカウントの登録、更新、検索に加え、Spring Securityの {@link UserDetailsService} を実装し、
  * 認証プロセスにおけるユーザー情報の取得も担当する。
+ * また {@link UserDetailsPasswordService} を実装し、ログイン成功時に保存済みのパスワードハッシュを
+ * 現在の設定（BCrypt のコスト）で作り直す。
  * </p>
  */
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final WeightLogRepository weightLogRepository;
     private final BmrService bmrService;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Spring Securityの認証プロセスで使用されるメソッド。
@@ -47,10 +53,33 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
+    /**
+     * ログイン成功時に、保存済みのパスワードハッシュを新しいハッシュに置き換える。
+     * <p>
+     * 保存済みのハッシュのコストが設定値（{@code futoru.security.bcrypt-strength}）と異なる場合に、
+     * Spring Security の認証処理から呼び出される。新しいハッシュは認証処理の中で計算済みである。
+     * </p>
+     *
+     * @param user        認証に成功したユーザー
+     * @param newPassword 新しいパスワードハッシュ
+     * @return パスワードを更新したユーザー情報
+     * @throws UsernameNotFoundException 指定されたユーザー名が存在しない場合
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        userCache.evict(entity.getUsername());
+        return entity;
+    }
+
     /**
      * 新規ユーザーのアカウント登録を行う。
      * <p>
      * パスワードは {@link PasswordEncoder} を使用してハッシュ化された状態で保存される。
+     * ハッシュ化には時間がかかるため、DBコネクションを保持したまま待たないよう、トランザクションの外で行う。
      * 身長などの身体情報は、初期状態では未設定（null）となる。
      * </p>
      *
@@ -58,17 +87,24 @@ public class UserService implements UserDetailsService {
      * @param password 登録するパスワード（平文）
      * @throws IllegalArgumentException 指定されたユーザー名が既に使用されている場合
      */
-    @Transactional
     public void registerUser(String username, String password) {
+        // 使用済みのユーザー名ではハッシュ化を行わずに失敗させる
         if (userRepository.findByUsername(username).isPresent()) {
             throw new IllegalArgumentException("Username is already taken: " + username);
         }
-        User user = new User();
-        user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
-        user.setRole("USER");
+        String encodedPassword = passwordEncoder.encode(password);
 
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.findByUsername(username).isPresent()) {
+                throw new IllegalArgumentException("Username is already taken: " + username);
+            }
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(encodedPassword);
+            user.setRole("USER");
+
+            userRepository.save(user);
+        });
     }
 
     /**
@@ -83,12 +119,22 @@ public class UserService implements UserDetailsService {
      *
      * @param username 確認対象のユーザー名
      * @return プロフィール設定が完了している場合は true、未完了の場合は false
-     * @throws java.util.NoSuchElementException ユーザーが存在しない場合
+     * @throws RuntimeException ユーザーが存在しない場合
      */
     @Transactional(readOnly = true)
     public boolean isProfileCompleted(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
+        return isProfileCompleted(getUserByUsername(username));
+    }
 
+    /**
+     * 解決済みのユーザーについて、初期設定（プロフィール入力）が完了しているか判定する。
+     *
+     * @param user 確認対象のユーザー
+     * @return プロフィール設定が完了している場合は true、未完了の場合は false
+     * @see #isProfileCompleted(String)
+     */
+    @Transactional(readOnly = true)
+    public boolean isProfileCompleted(User user) {
         boolean hasWeightLog = weightLogRepository.findFirstByUserOrderByDateDesc(user).isPresent();
 
         return user.getHeight() != null && hasWeightLog;
@@ -121,17 +167,14 @@ public class UserService implements UserDetailsService {
 
         userRepository.save(user);
 
-        LocalDate today = LocalDate.now();
-        WeightLog log = new WeightLog();
-        log.setUser(user);
-        log.setDate(today);
-        log.setWeight(weight);
-        weightLogRepository.save(log);
+        // 初期設定画面を同じ日に再送信した場合も、当日の記録を上書きするだけで済むよう upsert で保存する
+        weightLogRepository.upsert(user.getId(), LocalDate.now(), weight);
 
         int targetCalories = bmrService.calculateTargetCalories(user, weight);
         user.setTargetCalories(targetCalories);
 
         userRepository.save(user);
+        userCache.evict(username);
     }
 
     /**
@@ -168,12 +211,15 @@ public class UserService implements UserDetailsService {
         user.setTargetCalories(targetCalories);
 
         userRepository.save(user);
+        userCache.evict(username);
     }
 
     /**
      * ユーザーの目標摂取カロリーを更新する。
      * <p>
      * 体重記録の更新時など、外部サービスから目標値の更新が必要な場合に呼び出される。
+     * ユーザーの再読み込みは行わず、目標カロリー列だけを1回の UPDATE で書き換える。
+     * 渡されたエンティティ自体は変更されないため、以降は {@link #getUserByUsername(String)} で取得し直すこと。
      * </p>
      *
      * @param user              更新対象のユーザーエンティティ
@@ -181,8 +227,8 @@ public class UserService implements UserDetailsService {
      */
     @Transactional
     public void updateTargetCalories(User user, int newTargetCalories) {
-        user.setTargetCalories(newTargetCalories);
-        userRepository.save(user);
+        userRepository.updateTargetCalories(user.getId(), newTargetCalories);
+        userCache.evict(user.getUsername());
     }
 
     /**
@@ -190,6 +236,7 @@ public class UserService implements UserDetailsService {
      * <p>
      * 他のサービス（WeightLogService等）でユーザーIDが必要な場合に使用する。
      * 存在しない場合は例外をスローする。
+     * 結果は {@link UserCache} に保持されるため、同一リクエスト内での2回目以降の呼び出しはDBにアクセスしない。
      * </p>
      *
      * @param username 取得したいユーザー名
@@ -198,7 +245,14 @@ public class UserService implements UserDetailsService {
      */
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+        User cached = userCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        userCache.put(user);
+        return user;
     }
 }
\ No newline at end of file
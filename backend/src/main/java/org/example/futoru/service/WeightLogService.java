@@ -1,6 +1,8 @@
 package org.example.futoru.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.WeightChartDto;
+import org.example.futoru.dto.WeightPointDto;
 import org.example.futoru.entity.User;
 import org.example.futoru.entity.WeightLog;
 import org.example.futoru.repository.WeightLogRepository;
@@ -9,8 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 体重記録（WeightLog）に関するビジネスロジックを提供するサービスクラス。
@@ -23,6 +25,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class WeightLogService {
 
+    /** グラフに渡す点数の既定の上限（これを超える履歴は間引いて表示する） */
+    public static final int DEFAULT_CHART_POINTS = 300;
+
+    /** グラフに渡す点数として指定できる最小値（始点・終点 + 1点） */
+    public static final int MIN_CHART_POINTS = 3;
+
+    /** グラフに渡す点数として指定できる最大値（これより大きい指定は切り詰める） */
+    public static final int MAX_CHART_POINTS = 2000;
+
     private final WeightLogRepository weightLogRepository;
     private final UserService userService;
     private final BmrService bmrService;
@@ -31,7 +42,9 @@ public class WeightLogService {
      * 指定された日付の体重を記録する。
      * <p>
      * 既に同日の記録が存在する場合は上書き更新し、存在しない場合は新規作成する。
-     * 体重記録の更新に伴い、ユーザーの目標カロリー（BMR）も再計算して更新する。
+     * 存在チェックは行わず、(user_id, date) の一意制約を使った upsert 1文で保存するため、
+     * 同じ日付への同時送信でも重複行は作られない。
+     * 体重記録の更新に伴い、ユーザーの目標カロリー（BMR）も再計算し、UPDATE 1文で更新する。
      * </p>
      *
      * @param username 記録するユーザーの名前
@@ -42,14 +55,7 @@ public class WeightLogService {
     public void saveWeightLog(String username, LocalDate date, Double weight) {
         User user = userService.getUserByUsername(username);
 
-        WeightLog log = weightLogRepository.findByUserAndDate(user, date)
-                .orElse(new WeightLog());
-
-        log.setUser(user);
-        log.setDate(date);
-        log.setWeight(weight);
-
-        weightLogRepository.save(log);
+        weightLogRepository.upsert(user.getId(), date, weight);
 
         // 体重変化に伴う目標カロリーの再計算
         int newTargetCalories = bmrService.calculateTargetCalories(user, weight);
@@ -71,35 +77,42 @@ public class WeightLogService {
     }
 
     /**
-     * グラフ表示用の日付ラベルリストを取得する。
-     *
-     * @param username 対象ユーザー名
-     * @return "M/d" 形式の日付文字列リスト
-     */
-    public List<String> getGraphLabels(String username) {
-        User user = userService.getUserByUsername(username);
-        List<WeightLog> logs = weightLogRepository.findByUserOrderByDateAsc(user);
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("M/d");
-
-        return logs.stream()
-                .map(log -> log.getDate().format(formatter))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * グラフ表示用の体重データリストを取得する。
+     * 体重推移グラフ用のデータ（日付ラベルと体重）を1回のクエリで取得する。
+     * <p>
+     * 日付と体重だけを射影して読み込み、点数が {@code maxPoints} を超える場合は
+     * {@link ChartDownsampler#lttb(double[], double[], int)} でグラフの形状を保ったまま間引く。
+     * </p>
      *
-     * @param username 対象ユーザー名
-     * @return 体重数値のリスト
+     * @param user      対象ユーザー
+     * @param from      表示開始日（nullの場合は最初の記録から）
+     * @param to        表示終了日（nullの場合は最新の記録まで）
+     * @param maxPoints グラフに渡す点数の上限
+     * @return グラフ表示用データ
      */
-    public List<Double> getGraphValues(String username) {
-        User user = userService.getUserByUsername(username);
-
-        List<WeightLog> logs = weightLogRepository.findByUserOrderByDateAsc(user);
-
-        return logs.stream()
-                .map(WeightLog::getWeight)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public WeightChartDto getChartSeries(User user, LocalDate from, LocalDate to, int maxPoints) {
+        List<WeightPointDto> points = weightLogRepository.findChartPoints(user, from, to);
+        int size = points.size();
+
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = points.get(i).date().toEpochDay();
+            y[i] = points.get(i).weight();
+        }
+        int[] selected = ChartDownsampler.lttb(x, y, maxPoints);
+
+        // 1年を超える期間は年も表示しないと日付が重複して見えるため、書式を切り替える
+        boolean spansYears = size > 1 && points.get(0).date().plusYears(1).isBefore(points.get(size - 1).date());
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(spansYears ? "yy/M/d" : "M/d");
+
+        List<String> labels = new ArrayList<>(selected.length);
+        List<Double> values = new ArrayList<>(selected.length);
+        for (int index : selected) {
+            WeightPointDto point = points.get(index);
+            labels.add(point.date().format(formatter));
+            values.add(point.weight());
+        }
+        return new WeightChartDto(labels, values);
     }
-}
\ No newline at end of file
+}
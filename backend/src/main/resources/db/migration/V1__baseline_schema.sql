@@ -0,0 +1,64 @@
+-- ==========================================================
+-- V1: 初期スキーマ
+-- ddl-auto=update で運用していた時点のテーブル構成を明示的に定義する。
+-- 既存DBではテーブルが作成済みのため、IF NOT EXISTS で何もしない。
+-- ==========================================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    username        VARCHAR(255) NOT NULL,
+    password        VARCHAR(255) NOT NULL,
+    role            VARCHAR(255),
+    age             INT,
+    gender          VARCHAR(255),
+    height          DOUBLE,
+    activity_level  VARCHAR(255),
+    target_calories INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS food_items (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id  BIGINT,
+    name     VARCHAR(255),
+    calories INT,
+    unit     VARCHAR(255),
+    type     VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_food_items_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS meal_logs (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id      BIGINT       NOT NULL,
+    food_item_id BIGINT,
+    name         VARCHAR(255),
+    calories     INT,
+    amount       DOUBLE,
+    eaten_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_meal_logs_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_meal_logs_food_item FOREIGN KEY (food_item_id) REFERENCES food_items (id)
+);
+
+CREATE TABLE IF NOT EXISTS recipes (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    parent_food_id  BIGINT       NOT NULL,
+    child_food_id   BIGINT,
+    manual_name     VARCHAR(255),
+    manual_calories INT,
+    amount          DOUBLE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_recipes_parent_food FOREIGN KEY (parent_food_id) REFERENCES food_items (id),
+    CONSTRAINT fk_recipes_child_food FOREIGN KEY (child_food_id) REFERENCES food_items (id)
+);
+
+CREATE TABLE IF NOT EXISTS weight_logs (
+    id      BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    date    DATE   NOT NULL,
+    weight  DOUBLE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_weight_logs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
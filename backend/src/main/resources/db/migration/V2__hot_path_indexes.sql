@@ -0,0 +1,38 @@
+-- ==========================================================
+-- V2: 主要クエリ用の複合インデックス
+-- ==========================================================
+
+-- MealLogRepository.findByUserAndEatenAtBetween / sumCaloriesByUserAndEatenAtBetween
+-- calories まで含めることで、日別集計の初期化（SUM/COUNT）はインデックスのみで完結する
+CREATE INDEX idx_meal_logs_user_eaten_at ON meal_logs (user_id, eaten_at, calories);
+
+-- WeightLogRepository.findByUserAndDate / findFirstByUserOrderByDateDesc / findChartPoints
+-- 一意制約を追加する前に、同一ユーザー・同一日付の重複行を最新（ID最大）の1件に整理する
+-- 注意: 古い方の体重記録は削除され、元に戻せない。必要であれば適用前にバックアップを取ること（README 参照）
+DELETE FROM weight_logs
+WHERE id NOT IN (
+    SELECT k.keep_id FROM (
+        SELECT MAX(id) AS keep_id FROM weight_logs GROUP BY user_id, date
+    ) k
+);
+ALTER TABLE weight_logs ADD CONSTRAINT uk_weight_logs_user_date UNIQUE (user_id, date);
+
+-- FoodItemRepository.findSystemFoodOptions / findFoodOptionsByUserId
+-- user_id IS NULL（システム標準食品）の絞り込みも同じインデックスを使用できる
+CREATE INDEX idx_food_items_user ON food_items (user_id);
+
+-- 日別カロリー集計は meal_logs から再構築できる派生データのため、
+-- ddl-auto=update で作成済みの場合も一度削除し、名前付きの一意制約で作り直す
+-- （集計行がない日は、次回の参照・記録時に meal_logs から集計される）
+DROP TABLE IF EXISTS daily_calorie_summaries;
+CREATE TABLE daily_calorie_summaries (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    user_id        BIGINT NOT NULL,
+    date           DATE   NOT NULL,
+    total_calories INT    NOT NULL,
+    entry_count    INT    NOT NULL,
+    revision       BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_calorie_summaries_user_date UNIQUE (user_id, date),
+    CONSTRAINT fk_daily_calorie_summaries_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
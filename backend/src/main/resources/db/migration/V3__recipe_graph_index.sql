@@ -0,0 +1,7 @@
+-- ==========================================================
+-- V3: レシピ依存関係グラフ用のインデックス
+-- ==========================================================
+
+-- RecipeRepository.findEdgesByChildIds（材料 → 親料理の逆引き）
+-- 材料のカロリー変更時に祖先の料理を階層ごとにたどるため、インデックスのみで完結させる
+CREATE INDEX idx_recipes_child_parent ON recipes (child_food_id, parent_food_id);
@@ -0,0 +1,8 @@
+-- ==========================================================
+-- V4: システム標準食品の識別コード
+-- ==========================================================
+
+-- FoodCatalogImportService（食品成分表の一括取り込み）で、既存の行と突き合わせる自然キー
+-- 食品成分表の食品番号などを格納する。My食品と手作業で登録した食品は NULL のまま（一意制約の対象外）
+ALTER TABLE food_items ADD COLUMN code VARCHAR(64) NULL;
+CREATE UNIQUE INDEX uk_food_items_code ON food_items (code);
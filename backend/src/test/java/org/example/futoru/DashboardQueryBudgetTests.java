@@ -0,0 +1,91 @@
+package org.example.futoru;
+
+import jakarta.persistence.EntityManager;
+import org.example.futoru.controller.WebController;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.service.FoodService;
+import org.example.futoru.service.UserCache;
+import org.example.futoru.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.ui.ExtendedModelMap;
+
+import static org.example.futoru.support.QueryBudgetAssertions.assertMaxStatements;
+import static org.example.futoru.support.QueryBudgetAssertions.countStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * ダッシュボードが発行するSQL文の数が、{@code @QueryBudget} の上限に収まることを検証する。
+ * 食事記録が増えてもクエリ数が変わらないこと（N+1問題がないこと）も確認する。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DashboardQueryBudgetTests {
+
+    private static final String USERNAME = "query-budget-user";
+
+    @Autowired
+    private WebController webController;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        userService.registerUser(USERNAME, "password");
+        userService.saveInitialProfile(USERNAME, 170.0, 60.0, 30, "MALE", ActivityLevel.MID);
+        userDetails = userService.loadUserByUsername(USERNAME);
+    }
+
+    @Test
+    void dashboardStaysWithinBudget() {
+        resetCaches();
+        String view = assertMaxStatements(10, () -> webController.index(new ExtendedModelMap(), userDetails));
+        assertEquals("index", view);
+    }
+
+    @Test
+    void dashboardQueryCountDoesNotGrowWithMealLogs() {
+        foodService.recordManualMeal(USERNAME, "ごはん", 250);
+        resetCaches();
+        int withOneMeal = countDashboardStatements();
+
+        for (int i = 0; i < 20; i++) {
+            foodService.recordManualMeal(USERNAME, "ごはん", 250);
+        }
+        resetCaches();
+        int withManyMeals = countDashboardStatements();
+
+        assertEquals(withOneMeal, withManyMeals);
+    }
+
+    private int countDashboardStatements() {
+        return countStatements(() -> webController.index(new ExtendedModelMap(), userDetails));
+    }
+
+    /**
+     * 永続化コンテキストとユーザーキャッシュを空にし、リクエスト開始時と同じ状態で計測する。
+     */
+    private void resetCaches() {
+        entityManager.flush();
+        entityManager.clear();
+        userCache.evict(USERNAME);
+    }
+}
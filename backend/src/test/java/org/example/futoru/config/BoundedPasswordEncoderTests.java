@@ -0,0 +1,115 @@
+package org.example.futoru.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link BoundedPasswordEncoder} の照合・再ハッシュ判定・同時実行数の制限を検証する。
+ */
+class BoundedPasswordEncoderTests {
+
+    @Test
+    void encodesAndMatchesOnDedicatedThreads() {
+        try (BoundedPasswordEncoder encoder = newEncoder(new BCryptPasswordEncoder(4), 4, 1, Duration.ofSeconds(5))) {
+            String hash = encoder.encode("password");
+
+            assertTrue(encoder.matches("password", hash));
+            assertFalse(encoder.matches("wrong-password", hash));
+        }
+    }
+
+    @Test
+    void requestsRehashWhenConfiguredCostDiffers() {
+        String cost4 = new BCryptPasswordEncoder(4).encode("password");
+        String cost5 = new BCryptPasswordEncoder(5).encode("password");
+
+        try (BoundedPasswordEncoder encoder = newEncoder(new BCryptPasswordEncoder(5), 5, 1, Duration.ofSeconds(5))) {
+            assertTrue(encoder.upgradeEncoding(cost4));
+            assertFalse(encoder.upgradeEncoding(cost5));
+        }
+        // コストを下げた場合も作り直す
+        try (BoundedPasswordEncoder encoder = newEncoder(new BCryptPasswordEncoder(4), 4, 1, Duration.ofSeconds(5))) {
+            assertTrue(encoder.upgradeEncoding(cost5));
+        }
+    }
+
+    @Test
+    void failsFastWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (BoundedPasswordEncoder encoder = newEncoder(blocking, 10, 1, Duration.ofSeconds(10))) {
+            // 1件目は実行中、2件目は待ち行列（上限1件）に入る
+            Future<String> running = callers.submit(() -> encoder.encode("first"));
+            Future<String> queued = callers.submit(() -> encoder.encode("second"));
+            while (encoder.activeCount() + encoder.queueSize() < 2) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(AuthenticationServiceException.class, () -> encoder.encode("third"));
+
+            release.countDown();
+            running.get();
+            queued.get();
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void timesOutWhenHashingTakesTooLong() {
+        CountDownLatch never = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = newEncoder(slow, 4, 1, Duration.ofMillis(50))) {
+            assertThrows(AuthenticationServiceException.class, () -> encoder.matches("password", "hash"));
+        }
+    }
+
+    private static BoundedPasswordEncoder newEncoder(PasswordEncoder delegate, int strength, int queueCapacity, Duration timeout) {
+        return new BoundedPasswordEncoder(delegate, strength, 1, queueCapacity, timeout);
+    }
+}
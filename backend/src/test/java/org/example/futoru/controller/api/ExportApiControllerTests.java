@@ -0,0 +1,118 @@
+package org.example.futoru.controller.api;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.ImportService;
+import org.example.futoru.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ExportApiController} が、リポジトリのストリームから読み込んだ記録を各形式（gzip圧縮の有無を含む）で書き出すことを検証する。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ExportApiControllerTests {
+
+    private static final String USERNAME = "export-user";
+
+    @Autowired
+    private ExportApiController exportApiController;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private UserService userService;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userService.registerUser(USERNAME, "password");
+        userService.saveInitialProfile(USERNAME, 170.0, 60.0, 30, "MALE", ActivityLevel.MID);
+        User user = userService.getUserByUsername(USERNAME);
+        userDetails = userService.loadUserByUsername(USERNAME);
+
+        importService.importMeals(user, csv("2024-01-02 12:00,\"カレー, \"\"大盛り\"\"\",800,1.5\n"
+                + "2024-01-01 08:00,ごはん,250\n"));
+        importService.importWeights(user, csv("""
+                2024-01-02,60.8
+                2024-01-01,60.5
+                """));
+    }
+
+    @Test
+    void exportsMealsAsCsv() throws IOException {
+        MockHttpServletResponse response = export("meals", "csv", false);
+
+        assertEquals("text/csv;charset=UTF-8", response.getContentType().replace(" ", ""));
+        assertEquals("\uFEFFeaten_at,name,calories,amount\r\n"
+                + "2024-01-01T08:00,ごはん,250,1.0\r\n"
+                + "2024-01-02T12:00,\"カレー, \"\"大盛り\"\"\",800,1.5\r\n", response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportsMealsAsGzippedNdjson() throws IOException {
+        MockHttpServletResponse response = export("meals", "ndjson", true);
+
+        assertEquals("application/gzip", response.getContentType());
+        String body = gunzip(response.getContentAsByteArray());
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"ごはん\"") && lines[0].contains("\"calories\":250"), lines[0]);
+        assertTrue(lines[1].contains("\"name\":\"カレー, \\\"大盛り\\\"\"") && lines[1].contains("\"amount\":1.5"), lines[1]);
+    }
+
+    @Test
+    void exportsWeightsAsGzippedCsv() throws IOException {
+        MockHttpServletResponse response = export("weights", "csv", true);
+
+        // 初期プロフィールの登録時に当日の体重 (60.0kg) も記録される
+        assertEquals("\uFEFFdate,weight\r\n2024-01-01,60.5\r\n2024-01-02,60.8\r\n" + LocalDate.now() + ",60.0\r\n", gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void exportsWeightsAsNdjson() throws IOException {
+        MockHttpServletResponse response = export("weights", "ndjson", false);
+
+        assertEquals("""
+                {"date":"2024-01-01","weight":60.5}
+                {"date":"2024-01-02","weight":60.8}
+                {"date":"%s","weight":60.0}
+                """.formatted(LocalDate.now()), response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private MockHttpServletResponse export(String type, String format, boolean gzip) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        exportApiController.export(type, format, gzip, userDetails, response);
+        return response;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
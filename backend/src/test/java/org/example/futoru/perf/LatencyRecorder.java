@@ -0,0 +1,117 @@
+package org.example.futoru.perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntConsumer;
+
+/**
+ * サービス層の処理時間を計測し、パーセンタイルを集計するクラス。
+ * <p>
+ * 各シナリオはウォームアップ（JITコンパイルとキャッシュの読み込み）の後に、指定回数だけ1回ずつ時間を計測する。
+ * 結果は表形式で標準出力に出力し、{@link #writeCsv(Path)} でCSVにも書き出せる（コミット間の比較用）。
+ * </p>
+ */
+public class LatencyRecorder {
+
+    /**
+     * 1シナリオの計測結果（時間はマイクロ秒）。
+     *
+     * @param scenario   シナリオ名
+     * @param iterations 計測回数
+     * @param mean       平均
+     * @param p50        中央値
+     * @param p90        90パーセンタイル
+     * @param p99        99パーセンタイル
+     * @param max        最大
+     */
+    public record Result(String scenario, int iterations, double mean, double p50, double p90, double p99, double max) {
+    }
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final List<Result> results = new ArrayList<>();
+
+    public LatencyRecorder(int warmupIterations, int measuredIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+    }
+
+    /**
+     * シナリオを計測する。
+     *
+     * @param scenario シナリオ名
+     * @param action   計測する処理（引数は0から始まる実行回数。対象ユーザーの切り替えなどに使う）
+     * @return 計測結果
+     */
+    public Result measure(String scenario, IntConsumer action) {
+        for (int i = 0; i < warmupIterations; i++) {
+            action.accept(i);
+        }
+
+        long[] nanos = new long[measuredIterations];
+        for (int i = 0; i < measuredIterations; i++) {
+            long start = System.nanoTime();
+            action.accept(warmupIterations + i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        double sum = 0;
+        for (long n : nanos) {
+            sum += n;
+        }
+        Result result = new Result(scenario, measuredIterations, sum / nanos.length / 1_000.0,
+                percentile(nanos, 0.50), percentile(nanos, 0.90), percentile(nanos, 0.99),
+                nanos[nanos.length - 1] / 1_000.0);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * 計測結果を表形式の文字列にする。
+     *
+     * @return 計測結果の表
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%-28s %8s %10s %10s %10s %10s %10s%n",
+                "scenario (us)", "n", "mean", "p50", "p90", "p99", "max"));
+        for (Result r : results) {
+            sb.append(String.format(Locale.ROOT, "%-28s %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    r.scenario(), r.iterations(), r.mean(), r.p50(), r.p90(), r.p99(), r.max()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 計測結果をCSVに書き出す。
+     *
+     * @param path 出力先
+     */
+    public void writeCsv(Path path) {
+        List<String> lines = new ArrayList<>();
+        lines.add("scenario,iterations,mean_us,p50_us,p90_us,p99_us,max_us");
+        for (Result r : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f",
+                    r.scenario(), r.iterations(), r.mean(), r.p50(), r.p90(), r.p99(), r.max()));
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.write(path, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 最近傍法によるパーセンタイル（マイクロ秒） */
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000.0;
+    }
+}
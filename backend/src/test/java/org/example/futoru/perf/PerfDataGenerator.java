@@ -0,0 +1,246 @@
+package org.example.futoru.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 性能計測用のテストデータを生成するクラス。
+ * <p>
+ * 乱数の種を固定しているため、同じ設定であれば毎回同じデータが生成される。
+ * 件数が多いため、JPA を経由せず JDBC のバッチで直接登録する。生成するデータ：
+ * <ul>
+ * <li>システム標準食品: {@link Settings#systemFoods()} 件</li>
+ * <li>ユーザー: {@link Settings#users()} 人（プロフィール設定済み。パスワードは全員 {@link #PASSWORD}）</li>
+ * <li>体重記録: ユーザーごとに {@link Settings#years()} 年分（毎日）</li>
+ * <li>食事記録と日別カロリー集計: ユーザーごとに {@link Settings#years()} 年分（1日 {@link Settings#mealsPerDay()} 件）</li>
+ * <li>レシピ: ユーザーごとに {@link Settings#recipeDepth()} 階層の料理
+ *     （各階層 {@link #DISHES_PER_LEVEL} 品、1品あたり {@link Settings#recipeFanout()} 個の材料を1つ下の階層から選ぶ）</li>
+ * </ul>
+ * </p>
+ */
+public class PerfDataGenerator {
+
+    /** 生成したユーザーのパスワード */
+    public static final String PASSWORD = "password";
+
+    static final int DISHES_PER_LEVEL = 4;
+
+    private static final int BATCH_SIZE = 5000;
+
+    private static final String[] FOOD_NAMES = {
+            "ごはん", "食パン", "うどん", "そば", "パスタ", "鶏むね肉", "鶏もも肉", "豚ロース", "牛もも肉", "鮭",
+            "サバ", "卵", "納豆", "豆腐", "牛乳", "ヨーグルト", "チーズ", "バナナ", "りんご", "ブロッコリー",
+            "キャベツ", "にんじん", "じゃがいも", "玉ねぎ", "トマト", "アボカド", "オートミール", "プロテイン", "アーモンド", "味噌汁"
+    };
+
+    private static final int[] MEAL_HOURS = {7, 12, 15, 19, 22};
+
+    /**
+     * 生成するデータ量の設定。
+     *
+     * @param users        ユーザー数
+     * @param years        体重記録・食事記録の年数
+     * @param mealsPerDay  1日あたりの食事記録数（最大5）
+     * @param systemFoods  システム標準食品の件数
+     * @param recipeDepth  レシピの階層数
+     * @param recipeFanout 料理1品あたりの材料数
+     */
+    public record Settings(int users, int years, int mealsPerDay, int systemFoods, int recipeDepth, int recipeFanout) {
+
+        /**
+         * システムプロパティ（{@code -Dperf.users=20} など）から設定を読み込む。
+         *
+         * @return 設定
+         */
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("perf.users", 20),
+                    Integer.getInteger("perf.years", 3),
+                    Math.min(Integer.getInteger("perf.mealsPerDay", 5), MEAL_HOURS.length),
+                    Integer.getInteger("perf.systemFoods", 2000),
+                    Integer.getInteger("perf.recipeDepth", 6),
+                    Integer.getInteger("perf.recipeFanout", 3));
+        }
+    }
+
+    /**
+     * 生成したデータのうち、計測で参照するもの。
+     *
+     * @param usernames  ユーザー名（生成順）
+     * @param topDishIds ユーザーごとの最上位の料理のID（usernames と同じ順）
+     */
+    public record Dataset(List<String> usernames, List<Long> topDishIds) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String encodedPassword;
+    private final Random random = new Random(42);
+
+    /**
+     * @param jdbcTemplate    登録先のDB
+     * @param encodedPassword {@link #PASSWORD} をエンコードした値（全ユーザーで共有する）
+     */
+    public PerfDataGenerator(JdbcTemplate jdbcTemplate, String encodedPassword) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.encodedPassword = encodedPassword;
+    }
+
+    /**
+     * 設定に従ってデータを生成する。
+     *
+     * @param settings データ量の設定
+     * @return 生成したデータの参照情報
+     */
+    public Dataset generate(Settings settings) {
+        List<long[]> ingredients = insertSystemFoods(settings.systemFoods());
+
+        List<String> usernames = new ArrayList<>();
+        List<Long> topDishIds = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(settings.years()).plusDays(1);
+
+        for (int i = 0; i < settings.users(); i++) {
+            String username = "perf-user-" + i;
+            long userId = insertUser(username);
+
+            insertWeightLogs(userId, from, today);
+            insertMealLogs(userId, from, today, settings.mealsPerDay(), ingredients);
+            topDishIds.add(insertRecipeTree(userId, i, settings, ingredients));
+            usernames.add(username);
+        }
+        return new Dataset(List.copyOf(usernames), List.copyOf(topDishIds));
+    }
+
+    /**
+     * システム標準食品を登録し、[ID, カロリー] の一覧を返す。
+     */
+    private List<long[]> insertSystemFoods(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FOOD_NAMES[i % FOOD_NAMES.length] + (i < FOOD_NAMES.length ? "" : " " + (i / FOOD_NAMES.length));
+            rows.add(new Object[]{"perf-" + i, name, 20 + random.nextInt(400), "100g", "INGREDIENT"});
+        }
+        batch("INSERT INTO food_items (user_id, code, name, calories, unit, type) VALUES (NULL, ?, ?, ?, ?, ?)", rows);
+
+        return jdbcTemplate.query("SELECT id, calories FROM food_items WHERE user_id IS NULL AND code LIKE 'perf-%' ORDER BY id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    private long insertUser(String username) {
+        jdbcTemplate.update("INSERT INTO users (username, password, role, age, gender, height, activity_level, target_calories) "
+                        + "VALUES (?, ?, 'USER', ?, ?, ?, ?, ?)",
+                username, encodedPassword, 20 + random.nextInt(40), random.nextBoolean() ? "MALE" : "FEMALE",
+                150.0 + random.nextInt(40), "MID", 2200 + random.nextInt(800));
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+    }
+
+    private void insertWeightLogs(long userId, LocalDate from, LocalDate to) {
+        List<Object[]> rows = new ArrayList<>();
+        double weight = 50 + random.nextInt(30);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            weight = Math.max(35, weight + random.nextGaussian() * 0.2 + 0.01);
+            rows.add(new Object[]{userId, date, Math.round(weight * 10) / 10.0});
+        }
+        batch("INSERT INTO weight_logs (user_id, date, weight) VALUES (?, ?, ?)", rows);
+    }
+
+    /**
+     * 食事記録を登録し、同じ内容から日別カロリー集計を作成する。
+     * 半分はシステム標準食品からの記録、残りは手入力の記録とする。
+     */
+    private void insertMealLogs(long userId, LocalDate from, LocalDate to, int mealsPerDay, List<long[]> ingredients) {
+        List<Object[]> meals = new ArrayList<>();
+        List<Object[]> summaries = new ArrayList<>();
+        // 利用する食品はユーザーごとに偏らせる（よく使う食品の集計に差が出るようにする）
+        int favorites = Math.min(ingredients.size(), 50);
+        int offset = random.nextInt(ingredients.size());
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            int total = 0;
+            for (int m = 0; m < mealsPerDay; m++) {
+                LocalDateTime eatenAt = date.atTime(MEAL_HOURS[m], random.nextInt(60));
+                if (random.nextBoolean()) {
+                    long[] food = ingredients.get((offset + random.nextInt(favorites)) % ingredients.size());
+                    double amount = 0.5 + random.nextInt(4) * 0.5;
+                    int calories = (int) Math.round(food[1] * amount);
+                    meals.add(new Object[]{userId, food[0], "食品" + food[0], calories, amount, Timestamp.valueOf(eatenAt)});
+                    total += calories;
+                } else {
+                    int calories = 100 + random.nextInt(700);
+                    meals.add(new Object[]{userId, null, FOOD_NAMES[random.nextInt(FOOD_NAMES.length)], calories, 1.0,
+                            Timestamp.valueOf(eatenAt)});
+                    total += calories;
+                }
+            }
+            summaries.add(new Object[]{userId, date, total, mealsPerDay, 1L});
+
+            if (meals.size() >= BATCH_SIZE) {
+                flushMeals(meals);
+            }
+        }
+        flushMeals(meals);
+        batch("INSERT INTO daily_calorie_summaries (user_id, date, total_calories, entry_count, revision) VALUES (?, ?, ?, ?, ?)",
+                summaries);
+    }
+
+    private void flushMeals(List<Object[]> meals) {
+        batch("INSERT INTO meal_logs (user_id, food_item_id, name, calories, amount, eaten_at) VALUES (?, ?, ?, ?, ?, ?)", meals);
+        meals.clear();
+    }
+
+    /**
+     * 階層ごとに料理を登録し、1つ下の階層（最下層はシステム標準食品）から材料を選んでレシピを作成する。
+     * 材料は同じ階層の料理間で共有されるため、レシピは木ではなく有向非巡回グラフとなる。
+     *
+     * @return 最上位の階層の最初の料理のID
+     */
+    private long insertRecipeTree(long userId, int userIndex, Settings settings, List<long[]> ingredients) {
+        List<long[]> children = ingredients;
+
+        for (int level = 1; level <= settings.recipeDepth(); level++) {
+            List<Object[]> dishes = new ArrayList<>();
+            List<long[][]> components = new ArrayList<>();
+            for (int d = 0; d < DISHES_PER_LEVEL; d++) {
+                long[][] picked = new long[settings.recipeFanout()][];
+                long total = 0;
+                for (int c = 0; c < picked.length; c++) {
+                    long[] child = children.get(random.nextInt(children.size()));
+                    long amount = 1 + random.nextInt(2);
+                    picked[c] = new long[]{child[0], amount};
+                    total += child[1] * amount;
+                }
+                components.add(picked);
+                dishes.add(new Object[]{userId, "perf-dish-" + userIndex + "-" + level + "-" + d, total, "皿",
+                        level == settings.recipeDepth() ? "MEAL_SET" : "DISH"});
+            }
+            batch("INSERT INTO food_items (user_id, name, calories, unit, type) VALUES (?, ?, ?, ?, ?)", dishes);
+
+            List<long[]> created = jdbcTemplate.query(
+                    "SELECT id, calories FROM food_items WHERE user_id = ? AND name LIKE ? ORDER BY id",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)},
+                    userId, "perf-dish-" + userIndex + "-" + level + "-%");
+
+            List<Object[]> recipes = new ArrayList<>();
+            for (int d = 0; d < created.size(); d++) {
+                for (long[] component : components.get(d)) {
+                    recipes.add(new Object[]{created.get(d)[0], component[0], (double) component[1]});
+                }
+            }
+            batch("INSERT INTO recipes (parent_food_id, child_food_id, amount) VALUES (?, ?, ?)", recipes);
+            children = created;
+        }
+        return children.get(0)[0];
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(start, Math.min(start + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.futoru.perf;
+
+import org.example.futoru.dto.MealLogChange;
+import org.example.futoru.dto.RecipeTreeDto;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.FoodService;
+import org.example.futoru.service.RecipeService;
+import org.example.futoru.service.UserService;
+import org.example.futoru.service.WeightLogService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * サービス層（FoodService・WeightLogService・RecipeService）の処理時間を、組み込みDB上で計測するテスト。
+ * <p>
+ * {@link PerfDataGenerator} で複数年分のデータを生成した後、各シナリオをユーザーを切り替えながら繰り返し実行し、
+ * パーセンタイルを標準出力と {@code target/perf/service-latency.csv} に出力する。
+ * MySQL を必要としないため、どの環境でも同じ条件で計測できる
+ * （H2 と MySQL では実行計画が異なるため、値の比較は同じ環境で計測したもの同士で行うこと）。
+ * </p>
+ * <p>
+ * 実行: {@code ./mvnw -Pperf test}。計測回数は {@code -Dperf.warmup=500 -Dperf.iterations=2000}、
+ * データ量は {@link PerfDataGenerator.Settings#fromSystemProperties()} のシステムプロパティで変更できる。
+ * </p>
+ */
+@Tag("perf")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceLatencyTests {
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private WeightLogService weightLogService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private PerfDataGenerator.Dataset dataset;
+    private LatencyRecorder recorder;
+
+    @BeforeAll
+    void generateData() {
+        PerfDataGenerator.Settings settings = PerfDataGenerator.Settings.fromSystemProperties();
+        long start = System.nanoTime();
+        dataset = new PerfDataGenerator(jdbcTemplate, passwordEncoder.encode(PerfDataGenerator.PASSWORD)).generate(settings);
+        System.out.printf("Generated %s in %d ms%n", settings, (System.nanoTime() - start) / 1_000_000);
+
+        recorder = new LatencyRecorder(Integer.getInteger("perf.warmup", 500), Integer.getInteger("perf.iterations", 2000));
+    }
+
+    @AfterAll
+    void report() {
+        System.out.print(recorder.format());
+        recorder.writeCsv(Path.of(System.getProperty("perf.output", "target/perf/service-latency.csv")));
+    }
+
+    @Test
+    void foodService() {
+        recorder.measure("food.todayMealLogs", i -> assertFalse(foodService.getTodayMealLogs(user(i)).isEmpty()));
+        recorder.measure("food.todaySummary", i -> foodService.getTodaySummary(user(i)));
+        recorder.measure("food.search", i -> assertFalse(foodService.searchFoods(username(i), "ごはん", 20).isEmpty()));
+        recorder.measure("food.recent", i -> foodService.getRecentFoods(username(i)));
+        recorder.measure("food.recordAndDelete", i -> {
+            MealLogChange change = foodService.recordManualMeal(username(i), "計測用", 300);
+            foodService.deleteMealLog(change.entry().id(), username(i));
+        });
+    }
+
+    @Test
+    void weightLogService() {
+        LocalDate today = LocalDate.now();
+        recorder.measure("weight.chartAll", i -> assertFalse(weightLogService
+                .getChartSeries(user(i), null, null, WeightLogService.DEFAULT_CHART_POINTS).labels().isEmpty()));
+        recorder.measure("weight.chartLastYear", i -> weightLogService
+                .getChartSeries(user(i), today.minusYears(1), today, WeightLogService.DEFAULT_CHART_POINTS));
+        recorder.measure("weight.saveToday", i -> weightLogService.saveWeightLog(username(i), today, 60.0 + i % 10));
+    }
+
+    @Test
+    void recipeService() {
+        recorder.measure("recipe.tree", i -> {
+            RecipeTreeDto tree = recipeService.getRecipeTree(username(i), topDishId(i));
+            assertTrue(tree.nodes().size() > 1);
+        });
+    }
+
+    private String username(int iteration) {
+        List<String> usernames = dataset.usernames();
+        return usernames.get(iteration % usernames.size());
+    }
+
+    private User user(int iteration) {
+        return userService.getUserByUsername(username(iteration));
+    }
+
+    private Long topDishId(int iteration) {
+        List<Long> ids = dataset.topDishIds();
+        return ids.get(iteration % ids.size());
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.BmrRequest;
+import org.example.futoru.dto.Gender;
+import org.example.futoru.entity.User;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link BmrService#targetCalories} が、文字列から DTO を組み立てて計算していた従来の経路と同じ目標カロリーを返すことを検証する。
+ */
+class BmrServiceTests {
+
+    /** DB保存値として現れうる性別（旧形式・大文字小文字違い・不正値・未設定を含む） */
+    private static final String[] GENDER_CODES = {"MALE", "male", "男性", "FEMALE", "female", "女性", "OTHER", "", null};
+
+    /** DB保存値として現れうる活動レベル（大文字小文字違い・不正値・未設定を含む） */
+    private static final String[] ACTIVITY_CODES = {"LOW", "MID", "HIGH", "mid", "High", "VERY_HIGH", "", null};
+
+    /** 体重 (kg), 身長 (cm), 年齢 の組み合わせ（小数点以下の丸めが境界になる値を含む） */
+    private static final double[][] BODIES = {
+            {50.0, 160.0, 20},
+            {62.3, 171.4, 34},
+            {48.75, 155.5, 19},
+            {95.1, 188.2, 61},
+            {70.0, 175.0, 25},
+    };
+
+    private final BmrService bmrService = new BmrService();
+
+    static Stream<Arguments> profiles() {
+        List<Arguments> arguments = new ArrayList<>();
+        for (String gender : GENDER_CODES) {
+            for (String activity : ACTIVITY_CODES) {
+                for (double[] body : BODIES) {
+                    arguments.add(Arguments.of(gender, activity, body[0], body[1], (int) body[2]));
+                }
+            }
+        }
+        return arguments.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("profiles")
+    void targetCaloriesMatchesStringBasedCalculation(String gender, String activity, double weight, double height, int age) {
+        int expected = legacyTargetCalories(weight, height, age, gender, activity);
+
+        assertEquals(expected, BmrService.targetCalories(weight, height, age,
+                Gender.fromCode(gender), ActivityLevel.fromCode(activity)));
+
+        User user = new User();
+        user.setUsername("user");
+        user.setHeight(height);
+        user.setAge(age);
+        user.setGender(gender);
+        user.setActivityLevel(activity);
+        assertEquals(expected, bmrService.calculateTargetCalories(user, weight));
+    }
+
+    /**
+     * 変更前の {@code calculateTargetCalories} と同じ手順（文字列の変換 → DTO の組み立て → {@link BmrService#calculate} → 切り捨て）で計算する。
+     */
+    private int legacyTargetCalories(double weight, double height, int age, String gender, String activity) {
+        BmrRequest request = new BmrRequest();
+        request.setWeight(weight);
+        request.setHeight(height);
+        request.setAge(age);
+        request.setGender(legacyGender(gender));
+        request.setActivityLevel(legacyActivityLevel(activity));
+        return (int) bmrService.calculate(request).getTargetCalories();
+    }
+
+    private static Gender legacyGender(String genderStr) {
+        if (genderStr == null) return Gender.MALE;
+        if (genderStr.equalsIgnoreCase("MALE") || genderStr.equals("男性")) {
+            return Gender.MALE;
+        }
+        return Gender.FEMALE;
+    }
+
+    private static ActivityLevel legacyActivityLevel(String levelStr) {
+        if (levelStr == null) return ActivityLevel.LOW;
+        try {
+            return ActivityLevel.valueOf(levelStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ActivityLevel.LOW;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.futoru.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ChartDownsampler#lttb} の点数・端点の保持・形状の保持を検証する。
+ */
+class ChartDownsamplerTests {
+
+    @Test
+    void keepsEndpointsAndReturnsThresholdPointsInOrder() {
+        double[] x = sequence(1000);
+        double[] y = Arrays.stream(x).map(Math::sin).toArray();
+
+        int[] sampled = ChartDownsampler.lttb(x, y, 50);
+
+        assertEquals(50, sampled.length);
+        assertEquals(0, sampled[0]);
+        assertEquals(999, sampled[sampled.length - 1]);
+        for (int i = 1; i < sampled.length; i++) {
+            assertTrue(sampled[i] > sampled[i - 1], "インデックスが昇順でない: " + Arrays.toString(sampled));
+        }
+    }
+
+    @Test
+    void returnsAllIndexesWhenThresholdIsNotSmallerThanSize() {
+        double[] x = sequence(5);
+        double[] y = {60, 61, 60.5, 62, 61.5};
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, ChartDownsampler.lttb(x, y, 5));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, ChartDownsampler.lttb(x, y, 300));
+    }
+
+    @Test
+    void returnsOnlyEndpointsWhenThresholdIsBelowMinimum() {
+        double[] x = sequence(10);
+        double[] y = sequence(10);
+
+        assertArrayEquals(new int[]{0, 9}, ChartDownsampler.lttb(x, y, 2));
+        assertArrayEquals(new int[]{0, 9}, ChartDownsampler.lttb(x, y, 0));
+        assertArrayEquals(new int[]{0, 9}, ChartDownsampler.lttb(x, y, -1));
+        // 端点だけの系列はそのまま返す
+        assertArrayEquals(new int[]{0, 1}, ChartDownsampler.lttb(sequence(2), sequence(2), 1));
+    }
+
+    @Test
+    void keepsIsolatedSpike() {
+        double[] x = sequence(1000);
+        double[] y = new double[1000];
+        Arrays.fill(y, 60.0);
+        y[537] = 80.0;
+
+        int[] sampled = ChartDownsampler.lttb(x, y, 20);
+
+        assertTrue(Arrays.stream(sampled).anyMatch(i -> i == 537), "山が失われた: " + Arrays.toString(sampled));
+    }
+
+    private static double[] sequence(int n) {
+        return IntStream.range(0, n).asDoubleStream().toArray();
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.futoru.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link CsvReader} のフィールドの分割・クォートの解釈・行番号を検証する。
+ */
+class CsvReaderTests {
+
+    @Test
+    void splitsPlainFields() throws IOException {
+        CsvReader reader = reader("2024-01-01,60.5\n2024-01-02,61\n");
+
+        assertEquals(List.of("2024-01-01", "60.5"), reader.next());
+        assertEquals(List.of("2024-01-02", "61"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsCommasEscapedQuotesAndNewlinesInsideQuotes() throws IOException {
+        CsvReader reader = reader("2024-01-01 08:00,\"カレー, 大盛り\",800\n"
+                + "2024-01-01 12:00,\"\"\"特製\"\"ラーメン\",700\n"
+                + "2024-01-01 19:00,\"1行目\n2行目\",500\n");
+
+        assertEquals(List.of("2024-01-01 08:00", "カレー, 大盛り", "800"), reader.next());
+        assertEquals(List.of("2024-01-01 12:00", "\"特製\"ラーメン", "700"), reader.next());
+        assertEquals(List.of("2024-01-01 19:00", "1行目\n2行目", "500"), reader.next());
+        // クォート内の改行を含むレコードは、最終行の行番号を返す
+        assertEquals(4, reader.lineNumber());
+    }
+
+    @Test
+    void skipsBomAndBlankLines() throws IOException {
+        CsvReader reader = reader("\uFEFFdate,weight\n\n   \n2024-01-01,60\n");
+
+        assertEquals(List.of("date", "weight"), reader.next());
+        assertEquals(List.of("2024-01-01", "60"), reader.next());
+        assertEquals(4, reader.lineNumber());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void keepsEmptyTrailingField() throws IOException {
+        assertEquals(List.of("2024-01-01 08:00", "ごはん", "250", ""), reader("2024-01-01 08:00,ごはん,250,\n").next());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        CsvReader reader = reader("2024-01-01,60\n2024-01-02,\"61\n2024-01-03,62\n");
+
+        reader.next();
+        CsvFormatException e = assertThrows(CsvFormatException.class, reader::next);
+        assertEquals("3行目: ダブルクォートが閉じられていません", e.getMessage());
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+}
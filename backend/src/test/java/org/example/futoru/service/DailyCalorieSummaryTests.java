@@ -0,0 +1,91 @@
+package org.example.futoru.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.MealLogChange;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.DailyCalorieSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 食事記録の追加・削除に伴う日別カロリー集計（{@link DailyCalorieSummary}）の作成と差分の反映を検証する。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DailyCalorieSummaryTests {
+
+    private static final String USERNAME = "summary-user";
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DailyCalorieSummaryRepository dailyCalorieSummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        userService.registerUser(USERNAME, "password");
+        userService.saveInitialProfile(USERNAME, 170.0, 60.0, 30, "MALE", ActivityLevel.MID);
+    }
+
+    @Test
+    void createsSummaryOnFirstMealAndAppliesDeltas() {
+        MealLogChange first = foodService.recordManualMeal(USERNAME, "ごはん", 250);
+        assertEquals(250, first.totalCalories());
+        assertEquals(1, first.sequence());
+
+        MealLogChange second = foodService.recordManualMeal(USERNAME, "みそ汁", 60);
+        assertEquals(310, second.totalCalories());
+        assertEquals(2, second.sequence());
+
+        MealLogChange deleted = foodService.deleteMealLog(first.entry().id(), USERNAME);
+        assertEquals(60, deleted.totalCalories());
+        assertEquals(3, deleted.sequence());
+
+        DailyCalorieSummary summary = reloadSummary();
+        assertEquals(60, summary.getTotalCalories());
+        assertEquals(1, summary.getEntryCount());
+        assertEquals(3, summary.getRevision());
+    }
+
+    @Test
+    void seedsMissingSummaryFromExistingMealLogs() {
+        foodService.recordManualMeal(USERNAME, "ごはん", 250);
+        // 集計行だけが失われた状態（派生データの削除など）を作る
+        dailyCalorieSummaryRepository.delete(reloadSummary());
+        entityManager.flush();
+        entityManager.clear();
+
+        MealLogChange change = foodService.recordManualMeal(USERNAME, "納豆", 100);
+        assertEquals(350, change.totalCalories());
+        assertEquals(1, change.sequence());
+
+        DailyCalorieSummary summary = reloadSummary();
+        assertEquals(350, summary.getTotalCalories());
+        assertEquals(2, summary.getEntryCount());
+    }
+
+    private DailyCalorieSummary reloadSummary() {
+        entityManager.flush();
+        entityManager.clear();
+        User user = userService.getUserByUsername(USERNAME);
+        return dailyCalorieSummaryRepository.findByUserAndDate(user, LocalDate.now()).orElseThrow();
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodOptionDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FoodSearchIndex} の正規化・候補の絞り込み・曖昧一致・並び順を検証する。
+ */
+class FoodSearchIndexTests {
+
+    private static final Long USER_ID = 1L;
+
+    @Test
+    void normalizesWidthCaseKanaAndWhitespace() {
+        assertEquals("かれー", FoodSearchIndex.normalize("ｶﾚｰ"));
+        assertEquals("かつ丼", FoodSearchIndex.normalize("カツ丼"));
+        assertEquals("coffeemilk", FoodSearchIndex.normalize("ＣＯＦＦＥＥ　Milk"));
+        assertEquals("", FoodSearchIndex.normalize(null));
+    }
+
+    @Test
+    void matchesRegardlessOfKanaAndWidth() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "カレーライス"), food(2, "ごはん"), food(3, "ＣＯＦＦＥＥ")),
+                List.of(), Map.of());
+
+        assertEquals(ids(1), ids(index.search(USER_ID, "かれー", 10)));
+        assertEquals(ids(1), ids(index.search(USER_ID, "ｶﾚｰ", 10)));
+        assertEquals(ids(3), ids(index.search(USER_ID, "coffee", 10)));
+    }
+
+    @Test
+    void findsCandidatesWithSingleCharacterAndBigramQueries() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "鶏むね肉"), food(2, "豚ロース"), food(3, "鶏もも肉"), food(4, "牛肉")),
+                List.of(), Map.of());
+
+        assertEquals(ids(1, 3), ids(index.search(USER_ID, "鶏", 10)));
+        // 一致の種類が同じ場合は名前の短い順
+        assertEquals(ids(4, 1, 3), ids(index.search(USER_ID, "肉", 10)));
+        // 2-gramの積集合（「むね」と「ね肉」の両方を含む食品）
+        assertEquals(ids(1), ids(index.search(USER_ID, "むね肉", 10)));
+        assertEquals(ids(), ids(index.search(USER_ID, "魚", 10)));
+    }
+
+    @Test
+    void ranksPrefixBeforeContainsThenShorterNameThenId() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "チキンカレー"), food(2, "カレーライス"), food(3, "カレー"), food(4, "ポークカレー")),
+                List.of(food(10, "自家製カレー")), Map.of());
+
+        assertEquals(ids(3, 2, 1, 4, 10), ids(index.search(USER_ID, "カレー", 10)));
+    }
+
+    @Test
+    void ranksByUsageBeforeMatchType() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "カレーライス"), food(2, "チキンカレー")),
+                List.of(food(10, "自家製カレー")),
+                Map.of(10L, 1, 2L, 5));
+
+        assertEquals(ids(2, 10, 1), ids(index.search(USER_ID, "カレー", 10)));
+    }
+
+    @Test
+    void fallsBackToFuzzyMatchOnlyWithoutSubstringMatch() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "カレーライス"), food(2, "カレーうどん"), food(3, "ごはん")),
+                List.of(food(10, "カレーライス大盛り")), Map.of());
+
+        // 部分一致がある場合は曖昧一致を行わない（「カレーうどん」は類似度0.5だが含めない）
+        assertEquals(ids(1, 10), ids(index.search(USER_ID, "かれーら", 10)));
+        // 表記揺れ（ス → つ）は2-gramの類似度で一致させ、類似度の高い順に並べる
+        assertEquals(ids(1, 10), ids(index.search(USER_ID, "かれーらいつ", 10)));
+        assertEquals(ids(), ids(index.search(USER_ID, "ぱすた", 10)));
+    }
+
+    @Test
+    void emptyQueryReturnsMostUsedFoodsUpToLimit() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "ごはん"), food(2, "みそ汁"), food(3, "納豆")),
+                List.of(food(10, "プロテイン")),
+                Map.of(3L, 2, 10L, 7));
+
+        assertEquals(ids(10, 3), ids(index.search(USER_ID, "", 2)));
+        assertEquals(ids(10, 3, 1, 2), ids(index.search(USER_ID, "  ", 10)));
+        assertTrue(index.search(USER_ID, "", 0).isEmpty());
+    }
+
+    @Test
+    void findsByIdsInRequestedOrderAndSkipsUnknownIds() {
+        FoodSearchIndex index = index(
+                List.of(food(1, "ごはん"), food(2, "みそ汁")),
+                List.of(food(10, "プロテイン")), Map.of());
+
+        assertEquals(ids(10, 1, 2), ids(index.findByIds(USER_ID, List.of(10L, 99L, 1L, 2L))));
+    }
+
+    @Test
+    void rebuildsIndexOnlyWhenSnapshotChanges() {
+        FoodSearchIndex index = index(List.of(food(1, "ごはん")), List.of(), Map.of());
+
+        index.search(USER_ID, "ごはん", 10);
+        index.search(USER_ID, "ご", 10);
+
+        assertEquals(1, index.indexStats().misses());
+        assertEquals(1, index.indexStats().hits());
+    }
+
+    /**
+     * 固定の食品リストと利用回数を返すキャッシュでインデックスを作成する。
+     */
+    private static FoodSearchIndex index(List<FoodOptionDto> systemFoods, List<FoodOptionDto> userFoods,
+                                         Map<Long, Integer> usage) {
+        FoodCatalogCache catalog = new FoodCatalogCache(null, 10) {
+            @Override
+            public List<FoodOptionDto> getSystemFoods() {
+                return systemFoods;
+            }
+
+            @Override
+            public List<FoodOptionDto> getUserFoods(Long userId) {
+                return userFoods;
+            }
+        };
+        FoodUsageCache usageCache = new FoodUsageCache(null, 10, 10, Duration.ofDays(14)) {
+            @Override
+            public Map<Long, Integer> getUsageCounts(Long userId) {
+                return usage;
+            }
+        };
+        return new FoodSearchIndex(catalog, usageCache);
+    }
+
+    private static FoodOptionDto food(long id, String name) {
+        return new FoodOptionDto(id, name, 100, "個", "INGREDIENT");
+    }
+
+    private static List<Long> ids(long... ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    private static List<Long> ids(List<FoodOptionDto> foods) {
+        return foods.stream().map(FoodOptionDto::id).toList();
+    }
+}
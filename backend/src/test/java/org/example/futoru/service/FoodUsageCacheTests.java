@@ -0,0 +1,128 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodUsageCount;
+import org.example.futoru.repository.MealLogRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FoodUsageCache} の減衰スコアによる並び順・上位N件の差分更新・集計中の記録の扱いを検証する。
+ */
+class FoodUsageCacheTests {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Test
+    void decayedScoreFavoursRecentUse() {
+        FoodUsageCache cache = newCache(2, call -> List.of(
+                new FoodUsageCount(100L, TODAY.minusDays(120), 5),
+                new FoodUsageCount(200L, TODAY, 2)));
+
+        // 回数は古い食品の方が多いが、半減期（14日）を大きく過ぎているため最近の食品が上位になる
+        assertEquals(List.of(200L, 100L), cache.getTopFoodIds(USER_ID));
+        assertEquals(Map.of(100L, 5, 200L, 2), cache.getUsageCounts(USER_ID));
+    }
+
+    @Test
+    void updatesTopFoodsIncrementally() {
+        FoodUsageCache cache = newCache(2, call -> List.of(
+                new FoodUsageCount(100L, TODAY, 4),
+                new FoodUsageCount(200L, TODAY, 2),
+                new FoodUsageCount(300L, TODAY, 1)));
+        assertEquals(List.of(100L, 200L), cache.getTopFoodIds(USER_ID));
+
+        // 300 のスコアは約3となり、最下位の 200（2）を上回って入れ替わる
+        cache.recordUse(USER_ID, 300L);
+        cache.recordUse(USER_ID, 300L);
+        assertEquals(List.of(100L, 300L), cache.getTopFoodIds(USER_ID));
+
+        // 約5となり、100（4）を上回って先頭に繰り上がる
+        cache.recordUse(USER_ID, 300L);
+        cache.recordUse(USER_ID, 300L);
+        assertEquals(List.of(300L, 100L), cache.getTopFoodIds(USER_ID));
+        assertEquals(5, cache.getUsageCounts(USER_ID).get(300L));
+
+        // 上位に入らない食品の記録では順位は変わらないが、回数は加算される
+        cache.recordUse(USER_ID, 400L);
+        assertEquals(List.of(300L, 100L), cache.getTopFoodIds(USER_ID));
+        assertEquals(1, cache.getUsageCounts(USER_ID).get(400L));
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void doesNotCacheLoadThatMissedConcurrentUse() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FoodUsageCache cache = newCache(10, call -> {
+            if (call == 1) {
+                // 1回目の集計は、記録がコミットされる前の状態を返す
+                loading.countDown();
+                await(release);
+                return List.of(new FoodUsageCount(100L, TODAY, 1));
+            }
+            return List.of(new FoodUsageCount(100L, TODAY, 1), new FoodUsageCount(200L, TODAY, 1));
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Map<Long, Integer>> first = executor.submit(() -> cache.getUsageCounts(USER_ID));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // 集計中にコミットされた記録
+            cache.recordUse(USER_ID, 200L);
+            release.countDown();
+            assertEquals(Map.of(100L, 1), first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 記録を含まない集計結果はキャッシュされず、集計し直される
+        assertEquals(Map.of(100L, 1, 200L, 1), cache.getUsageCounts(USER_ID));
+        assertEquals(Map.of(100L, 1, 200L, 1), cache.getUsageCounts(USER_ID));
+        assertEquals(2, cache.stats().misses());
+        assertEquals(1, cache.stats().hits());
+    }
+
+    /**
+     * 集計クエリだけを実装したリポジトリでキャッシュを作成する。
+     *
+     * @param topSize 上位として保持する件数
+     * @param usage   呼び出し回数（1始まり）ごとの集計結果
+     */
+    private static FoodUsageCache newCache(int topSize, IntFunction<List<FoodUsageCount>> usage) {
+        AtomicInteger calls = new AtomicInteger();
+        MealLogRepository repository = (MealLogRepository) Proxy.newProxyInstance(
+                MealLogRepository.class.getClassLoader(), new Class<?>[]{MealLogRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("countFoodUsageByUserId")) {
+                        return usage.apply(calls.incrementAndGet());
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return new FoodUsageCache(repository, 10, topSize, Duration.ofDays(14));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
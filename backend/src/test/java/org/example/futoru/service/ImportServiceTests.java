@@ -0,0 +1,162 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.ImportResult;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.DailyCalorieSummaryRepository;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link ImportService} のヘッダーの判定・不正な行の扱い・重複の扱いを検証する。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ImportServiceTests {
+
+    private static final String USERNAME = "import-user";
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WeightLogService weightLogService;
+
+    @Autowired
+    private WeightLogRepository weightLogRepository;
+
+    @Autowired
+    private MealLogRepository mealLogRepository;
+
+    @Autowired
+    private DailyCalorieSummaryRepository dailyCalorieSummaryRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userService.registerUser(USERNAME, "password");
+        userService.saveInitialProfile(USERNAME, 170.0, 60.0, 30, "MALE", ActivityLevel.MID);
+        user = userService.getUserByUsername(USERNAME);
+    }
+
+    @Test
+    void skipsHeaderAndReportsInvalidLines() throws IOException {
+        ImportResult result = importService.importWeights(user, csv("""
+                日付,体重
+                2024-01-01,60.5
+                2024-01-02,abc
+                2024-01-03,500
+                2024/1/4,61.0
+                2024-01-05
+                """));
+
+        assertEquals(2, result.imported());
+        assertEquals(3, result.invalid());
+        assertEquals(List.of("3行目", "4行目", "6行目"),
+                result.errors().stream().map(error -> error.substring(0, error.indexOf(':'))).toList());
+        assertEquals(61.0, weightOn(LocalDate.of(2024, 1, 4)));
+    }
+
+    @Test
+    void treatsFirstRecordAsDataWhenItParses() throws IOException {
+        ImportResult result = importService.importWeights(user, csv("2024-01-01,60.5\n2024-01-02,60.8\n"));
+
+        assertEquals(2, result.imported());
+        assertEquals(0, result.invalid());
+    }
+
+    @Test
+    void keepsExistingWeightAndLaterRowWithinFile() throws IOException {
+        weightLogService.saveWeightLog(USERNAME, LocalDate.of(2024, 1, 1), 59.0);
+
+        ImportResult result = importService.importWeights(user, csv("""
+                2024-01-01,60.0
+                2024-01-02,61.0
+                2024-01-02,62.0
+                """));
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.duplicates());
+        assertEquals(59.0, weightOn(LocalDate.of(2024, 1, 1)));
+        assertEquals(62.0, weightOn(LocalDate.of(2024, 1, 2)));
+    }
+
+    @Test
+    void laterRowWinsAcrossChunkBoundary() throws IOException {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < ImportService.CHUNK_SIZE; i++) {
+            csv.append(start.plusDays(i)).append(",60.0\n");
+        }
+        // 1行目と同じ日付を次のチャンクで指定する
+        csv.append(start).append(",65.0\n");
+
+        ImportResult result = importService.importWeights(user, csv(csv.toString()));
+
+        assertEquals(ImportService.CHUNK_SIZE, result.imported());
+        assertEquals(1, result.duplicates());
+        assertEquals(65.0, weightOn(start));
+    }
+
+    @Test
+    void skipsDuplicateMealsWithinFileAndAgainstExisting() throws IOException {
+        importService.importMeals(user, csv("2024-01-01 08:00,ごはん,250\n"));
+
+        ImportResult result = importService.importMeals(user, csv("""
+                記録日時,食品名,カロリー,量
+                2024-01-01 08:00,ごはん,250
+                2024-01-01 12:00,"カレー, 大盛り",800,1.5
+                2024-01-01 12:00,"カレー, 大盛り",800,1.5
+                2024-01-01 19:00,ラーメン,NaN
+                """));
+
+        assertEquals(1, result.imported());
+        assertEquals(2, result.duplicates());
+        assertEquals(1, result.invalid());
+        assertEquals(2, mealLogRepository.countByUserAndEatenAtBetween(user,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 23, 59)));
+
+        // 日別カロリー集計は登録した期間について作り直され、取り込みのたびに更新番号が進む
+        DailyCalorieSummary summary = dailyCalorieSummaryRepository.findByUserAndDate(user, LocalDate.of(2024, 1, 1)).orElseThrow();
+        assertEquals(1050, summary.getTotalCalories());
+        assertEquals(2, summary.getEntryCount());
+        assertEquals(2, summary.getRevision());
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        assertThrows(CsvFormatException.class,
+                () -> importService.importMeals(user, csv("2024-01-01 08:00,\"ごはん,250\n")));
+    }
+
+    private double weightOn(LocalDate date) {
+        return weightLogRepository.findByUserAndDate(user, date).orElseThrow().getWeight();
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.futoru.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.entity.Recipe;
+import org.example.futoru.repository.FoodItemRepository;
+import org.example.futoru.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link RecipeGraphService#propagateFrom} の再計算の範囲・順序と、循環参照の検出を検証する。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecipeGraphServiceTests {
+
+    @Autowired
+    private RecipeGraphService recipeGraphService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void recalculatesAncestorsInDependencyOrder() {
+        FoodItem rice = food("ごはん", 100, "INGREDIENT");
+        FoodItem egg = food("卵", 50, "INGREDIENT");
+        // 親子丼 = ごはん x2 + 卵
+        FoodItem oyakodon = food("親子丼", 250, "DISH");
+        recipe(oyakodon, rice, 2.0);
+        recipe(oyakodon, egg, 1.0);
+        // 大盛り親子丼 = 親子丼 + 手入力の追加分30kcal
+        FoodItem large = food("大盛り親子丼", 280, "DISH");
+        recipe(large, oyakodon, 1.0);
+        manualRecipe(large, 30);
+        // 定食 = 親子丼 + 大盛り親子丼（親子丼へは直接と間接の2経路で依存する）
+        FoodItem set = food("親子丼定食", 530, "MEAL_SET");
+        recipe(set, oyakodon, 1.0);
+        recipe(set, large, 1.0);
+        // 卵だけを使う料理（ごはんの変更の影響を受けない）
+        FoodItem omelet = food("卵焼き", 100, "DISH");
+        recipe(omelet, egg, 2.0);
+
+        rice.setCalories(200);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, recipeGraphService.propagateFrom(List.of(rice.getId())));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(450, calories(oyakodon));
+        assertEquals(480, calories(large));
+        assertEquals(930, calories(set));
+        assertEquals(100, calories(omelet));
+
+        // 値が変わらない場合は更新しない
+        assertEquals(0, recipeGraphService.propagateFrom(List.of(rice.getId())));
+    }
+
+    @Test
+    void returnsZeroForFoodsWithoutParents() {
+        FoodItem rice = food("ごはん", 100, "INGREDIENT");
+        entityManager.flush();
+
+        assertEquals(0, recipeGraphService.propagateFrom(List.of(rice.getId())));
+        assertEquals(0, recipeGraphService.propagateFrom(List.of()));
+    }
+
+    @Test
+    void rejectsCyclicDependencies() {
+        FoodItem rice = food("ごはん", 100, "INGREDIENT");
+        FoodItem first = food("料理A", 100, "DISH");
+        FoodItem second = food("料理B", 100, "DISH");
+        recipe(first, rice, 1.0);
+        recipe(first, second, 1.0);
+        recipe(second, first, 1.0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(IllegalStateException.class, () -> recipeGraphService.propagateFrom(List.of(rice.getId())));
+    }
+
+    private FoodItem food(String name, int calories, String type) {
+        FoodItem food = new FoodItem();
+        food.setName(name);
+        food.setCalories(calories);
+        food.setUnit("人前");
+        food.setType(type);
+        return foodItemRepository.save(food);
+    }
+
+    private void recipe(FoodItem parent, FoodItem child, double amount) {
+        Recipe recipe = new Recipe();
+        recipe.setParentFood(parent);
+        recipe.setChildFood(child);
+        recipe.setAmount(amount);
+        recipeRepository.save(recipe);
+    }
+
+    private void manualRecipe(FoodItem parent, int calories) {
+        Recipe recipe = new Recipe();
+        recipe.setParentFood(parent);
+        recipe.setManualName("追加分");
+        recipe.setManualCalories(calories);
+        recipe.setAmount(1.0);
+        recipeRepository.save(recipe);
+    }
+
+    private int calories(FoodItem food) {
+        return foodItemRepository.findById(food.getId()).orElseThrow().getCalories();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.futoru.support;
+
+import org.example.futoru.config.QueryBudgetExceededException;
+import org.example.futoru.config.QueryStats;
+
+import java.util.function.Supplier;
+
+/**
+ * 処理が発行するSQL文の数を検証するためのテスト用ユーティリティ。
+ * <p>
+ * 使用例: {@code assertMaxStatements(10, () -> webController.index(model, userDetails));}
+ * </p>
+ */
+public final class QueryBudgetAssertions {
+
+    private QueryBudgetAssertions() {
+    }
+
+    /**
+     * 処理が発行するSQL文の数が上限以下であることを検証する。
+     * 上限を超えた時点で処理を中断するため、N+1問題でループ中に大量のクエリが発行される場合も早く失敗する。
+     *
+     * @param maxStatements SQL文の数の上限
+     * @param action        検証する処理
+     * @param <T>           処理の戻り値の型
+     * @return 処理の戻り値
+     * @throws AssertionError 上限を超えた場合
+     */
+    public static <T> T assertMaxStatements(int maxStatements, Supplier<T> action) {
+        try {
+            return QueryStats.withBudget(maxStatements, action);
+        } catch (RuntimeException e) {
+            QueryBudgetExceededException exceeded = findCause(e);
+            if (exceeded != null) {
+                throw new AssertionError(exceeded.getMessage(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 処理が発行したSQL文の数を返す（上限は設けない）。
+     *
+     * @param action 計測する処理
+     * @return 発行されたSQL文の数
+     */
+    public static int countStatements(Runnable action) {
+        return QueryStats.measure(action).statements();
+    }
+
+    /**
+     * 例外の原因をたどり、上限超過の例外を探す（トランザクションの例外などに包まれている場合があるため）。
+     */
+    private static QueryBudgetExceededException findCause(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof QueryBudgetExceededException exceeded) {
+                return exceeded;
+            }
+        }
+        return null;
+    }
+}
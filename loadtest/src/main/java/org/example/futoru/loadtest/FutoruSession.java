@@ -0,0 +1,279 @@
+package org.example.futoru.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 仮想ユーザー1人分のセッション。
+ * <p>
+ * ブラウザと同じく、ログイン画面からCSRFトークンを取得してフォームログインし、
+ * 以降はセッションCookie（JSESSIONID）とCSRFトークンを保持してリクエストを送る。
+ * 試験用ユーザーが存在しない場合は、ユーザー登録とプロフィールの初期設定を行ってから開始する。
+ * </p>
+ * <p>
+ * 1インスタンスは1つの仮想スレッドからのみ使用する（スレッドセーフではない）。
+ * </p>
+ */
+public class FutoruSession {
+
+    /** 画面のフォームに埋め込まれたCSRFトークン */
+    private static final Pattern FORM_CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    /** 画面の meta タグに埋め込まれたCSRFトークン（AJAXリクエスト用） */
+    private static final Pattern META_CSRF = Pattern.compile("<meta\\s+name=\"_csrf\"\\s+content=\"([^\"]+)\"");
+
+    /** 食品検索の結果に含まれる食材のID */
+    private static final Pattern INGREDIENT_ID = Pattern.compile("\"id\":(\\d+)[^}]*\"type\":\"INGREDIENT\"");
+
+    /** 差分レスポンス（mode=delta）に含まれる、追加・削除された記録のID */
+    private static final Pattern ENTRY_ID = Pattern.compile("\"entry\":\\{\"id\":(\\d+)");
+
+    /** AJAXリクエストでCSRFトークンを送るヘッダー名（SecurityConfig の既定値） */
+    private static final String CSRF_HEADER = "X-CSRF-TOKEN";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final String username;
+    private final String password;
+    private final LatencyStats stats;
+
+    /** 現在のセッションに対応するCSRFトークン（ログインのたびに変わる） */
+    private String csrfToken;
+
+    /** 食事記録・レシピ作成で使う食材のID */
+    private List<Long> foodIds = List.of();
+
+    public FutoruSession(HttpClient client, URI baseUri, String username, String password, LatencyStats stats) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.username = username;
+        this.password = password;
+        this.stats = stats;
+    }
+
+    /**
+     * セッション用の HttpClient を生成する。
+     * <p>
+     * Cookie は仮想ユーザーごとに分ける。ログインやフォーム送信後のリダイレクトは、
+     * 遷移先を確認するため自動では追わない。
+     * </p>
+     */
+    public static HttpClient newClient() {
+        return HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public String username() {
+        return username;
+    }
+
+    /**
+     * ログインし、試験に使う食材のIDを取得する。
+     * <p>
+     * ログインに失敗した場合はユーザーが未登録とみなし、登録とプロフィールの初期設定を行う。
+     * </p>
+     *
+     * @throws IOException          通信に失敗した場合
+     * @throws InterruptedException 待機中に割り込まれた場合
+     * @throws IllegalStateException 想定外の応答を受け取った場合、または選択できる食材がない場合
+     */
+    public void signIn() throws IOException, InterruptedException {
+        if (!login()) {
+            register();
+        }
+        refreshCsrfToken();
+
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = INGREDIENT_ID.matcher(get("GET /api/food/search", "/api/food/search?limit=50"));
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("選択できる食材がありません。システム標準食品を登録してください");
+        }
+        this.foodIds = List.copyOf(ids);
+    }
+
+    /**
+     * フォームログインを行う。
+     *
+     * @return ログインに成功した場合は true（ユーザー名またはパスワードが一致しない場合は false）
+     */
+    private boolean login() throws IOException, InterruptedException {
+        String token = extract(FORM_CSRF, get("GET /login", "/login"), "/login");
+
+        HttpResponse<String> response = send("POST /login", form("/login", token, Map.of(
+                "username", username,
+                "password", password)), 302);
+        String location = response.headers().firstValue("Location").orElse("");
+        return !location.contains("/login");
+    }
+
+    /**
+     * ユーザー登録とプロフィールの初期設定を行う（登録後はログイン済みになる）。
+     */
+    private void register() throws IOException, InterruptedException {
+        String token = extract(FORM_CSRF, get("GET /register", "/register"), "/register");
+        HttpResponse<String> response = send("POST /register", form("/register", token, Map.of(
+                "username", username,
+                "password", password,
+                "confirmPassword", password)), 302);
+        if (!response.headers().firstValue("Location").orElse("").contains("/profile/init")) {
+            throw new IllegalStateException("ユーザー登録に失敗しました: " + username);
+        }
+
+        token = extract(FORM_CSRF, get("GET /profile/init", "/profile/init"), "/profile/init");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        send("POST /profile/init", form("/profile/init", token, Map.of(
+                "height", String.valueOf(150 + random.nextInt(40)),
+                "weight", String.valueOf(45 + random.nextInt(40)),
+                "age", String.valueOf(20 + random.nextInt(50)),
+                "gender", random.nextBoolean() ? "MALE" : "FEMALE",
+                "activityLevel", "MID")), 302);
+    }
+
+    /**
+     * ダッシュボードを取得し、AJAXリクエスト用のCSRFトークンを更新する。
+     */
+    private void refreshCsrfToken() throws IOException, InterruptedException {
+        this.csrfToken = extract(META_CSRF, get("GET /", "/"), "/");
+    }
+
+    /**
+     * ランダムに選んだ食材のIDを返す。
+     */
+    public long randomFoodId() {
+        return foodIds.get(ThreadLocalRandom.current().nextInt(foodIds.size()));
+    }
+
+    /**
+     * GETリクエストを送る。
+     *
+     * @param name 集計に使う名前
+     * @param path リクエストパス（クエリ文字列を含む）
+     * @return レスポンス本文
+     */
+    public String get(String name, String path) throws IOException, InterruptedException {
+        return send(name, request(path).GET().build(), 200).body();
+    }
+
+    /**
+     * CSRFトークンをヘッダーに付けて、本文のないPOSTリクエストを送る（食事記録APIなど）。
+     */
+    public String post(String name, String path) throws IOException, InterruptedException {
+        return send(name, request(path)
+                .header(CSRF_HEADER, csrfToken)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), 200).body();
+    }
+
+    /**
+     * CSRFトークンをヘッダーに付けて、JSONを送るPOSTリクエストを送る（レシピ作成など）。
+     */
+    public String postJson(String name, String path, String json) throws IOException, InterruptedException {
+        return send(name, request(path)
+                .header(CSRF_HEADER, csrfToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), 200).body();
+    }
+
+    /**
+     * 差分レスポンスから、追加・削除された記録のIDを取り出す。
+     *
+     * @throws IllegalStateException IDが含まれていない場合
+     */
+    static long extractEntryId(String body) {
+        Matcher matcher = ENTRY_ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("差分レスポンスに記録のIDがありません");
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * リクエストを送り、応答時間を記録する。
+     * <p>
+     * 期待したステータスでない応答は、応答時間ではなく失敗として記録する。
+     * セッションが切れてログイン画面へリダイレクトされた場合は、再ログインしたうえで失敗として扱う。
+     * </p>
+     *
+     * @throws IllegalStateException 期待したステータスでない場合
+     */
+    private HttpResponse<String> send(String name, HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            stats.recordFailure(name, e.getClass().getSimpleName() + ": " + e.getMessage());
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (response.statusCode() != expectedStatus) {
+            String message = "HTTP " + response.statusCode() + " " + request.uri().getPath();
+            stats.recordFailure(name, message);
+            if (isLoginRedirect(response) && expectedStatus != 302) {
+                signIn();
+            }
+            throw new IllegalStateException(message);
+        }
+        stats.recordSuccess(name, elapsed);
+        return response;
+    }
+
+    private static boolean isLoginRedirect(HttpResponse<String> response) {
+        return response.statusCode() == 302
+                && response.headers().firstValue("Location").orElse("").contains("/login");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    /**
+     * CSRFトークンを含むフォーム送信のリクエストを組み立てる。
+     */
+    private HttpRequest form(String path, String token, Map<String, String> fields) {
+        Map<String, String> all = new LinkedHashMap<>(fields);
+        all.put("_csrf", token);
+
+        StringJoiner body = new StringJoiner("&");
+        all.forEach((key, value) -> body.add(URLEncoder.encode(key, StandardCharsets.UTF_8)
+                + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return request(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static String extract(Pattern pattern, String html, String path) {
+        Matcher matcher = pattern.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("CSRFトークンが見つかりません: " + path);
+        }
+        return matcher.group(1);
+    }
+}
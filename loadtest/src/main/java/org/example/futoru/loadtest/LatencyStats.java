@@ -0,0 +1,191 @@
+package org.example.futoru.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * リクエスト種別ごとの応答時間と失敗件数の集計。
+ * <p>
+ * 応答時間はマイクロ秒単位で HdrHistogram に記録する。
+ * ウォームアップ中の結果は集計しないため、{@link #start()} から {@link #stop()} までの間に
+ * 完了したリクエストだけを記録する。
+ * </p>
+ */
+public class LatencyStats {
+
+    /** 出力時の単位換算（マイクロ秒 → ミリ秒） */
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    /** 有効桁数（3桁: 値の0.1%以内の精度） */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+    private volatile long startEpochMillis;
+    private volatile long stopEpochMillis;
+
+    /** リクエスト種別ごとの集計値 */
+    private static final class Operation {
+        final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        final LongAdder failures = new LongAdder();
+        /** 最初に発生した失敗の内容（原因調査用） */
+        volatile String firstFailure;
+    }
+
+    /**
+     * 集計を開始する（それまでの記録は破棄する）。
+     */
+    public void start() {
+        operations.clear();
+        startNanos = System.nanoTime();
+        startEpochMillis = System.currentTimeMillis();
+        recording = true;
+    }
+
+    /**
+     * 集計を終了する。以降に完了したリクエストは記録しない。
+     */
+    public void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+        stopEpochMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * 成功したリクエストの応答時間を記録する。
+     *
+     * @param name         リクエスト種別
+     * @param elapsedNanos 応答時間（ナノ秒）
+     */
+    public void recordSuccess(String name, long elapsedNanos) {
+        if (recording) {
+            operation(name).histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+    }
+
+    /**
+     * 失敗したリクエストを記録する。
+     *
+     * @param name    リクエスト種別
+     * @param message 失敗の内容
+     */
+    public void recordFailure(String name, String message) {
+        if (recording) {
+            Operation operation = operation(name);
+            operation.failures.increment();
+            if (operation.firstFailure == null) {
+                operation.firstFailure = message;
+            }
+        }
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, key -> new Operation());
+    }
+
+    /**
+     * 集計結果を表形式で出力する。
+     * 時間はミリ秒、スループットは計測時間全体での1秒あたりの成功件数。
+     *
+     * @param out 出力先
+     */
+    public void printSummary(PrintStream out) {
+        double seconds = (stopNanos - startNanos) / 1_000_000_000.0;
+        out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "request", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        long totalFailures = 0;
+        for (Map.Entry<String, Operation> entry : sorted().entrySet()) {
+            Operation operation = entry.getValue();
+            Histogram histogram = operation.histogram.copy();
+            total.add(histogram);
+            totalFailures += operation.failures.sum();
+            printRow(out, entry.getKey(), histogram, operation.failures.sum(), seconds);
+        }
+        printRow(out, "TOTAL", total, totalFailures, seconds);
+
+        for (Map.Entry<String, Operation> entry : sorted().entrySet()) {
+            if (entry.getValue().firstFailure != null) {
+                out.printf("  %s: 最初の失敗 = %s%n", entry.getKey(), entry.getValue().firstFailure);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long failures, double seconds) {
+        out.printf("%-28s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name,
+                histogram.getTotalCount(),
+                failures,
+                seconds > 0 ? histogram.getTotalCount() / seconds : 0.0,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(95) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    /**
+     * 集計結果を HdrHistogram の形式でファイルに出力する。
+     * <ul>
+     *   <li>{@code <リクエスト種別>.hgrm}: パーセンタイル分布（ミリ秒。HdrHistogram の plotFiles.html で描画できる）</li>
+     *   <li>{@code latency.hlog}: 全リクエスト種別のヒストグラム（マイクロ秒。タグにリクエスト種別を設定。
+     *       HistogramLogProcessor で再集計できる）</li>
+     * </ul>
+     *
+     * @param directory 出力先ディレクトリ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+
+        try (PrintStream log = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")),
+                false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.setBaseTime(startEpochMillis);
+            writer.outputComment("futoru loadtest (values in microseconds)");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startEpochMillis);
+            writer.outputLegend();
+
+            for (Map.Entry<String, Operation> entry : sorted().entrySet()) {
+                Histogram histogram = entry.getValue().histogram.copy();
+                histogram.setStartTimeStamp(startEpochMillis);
+                histogram.setEndTimeStamp(stopEpochMillis);
+                histogram.setTag(toFileName(entry.getKey()));
+                writer.outputIntervalHistogram(histogram);
+
+                try (PrintStream hgrm = new PrintStream(
+                        Files.newOutputStream(directory.resolve(toFileName(entry.getKey()) + ".hgrm")),
+                        false, StandardCharsets.UTF_8)) {
+                    histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+                }
+            }
+        }
+    }
+
+    private Map<String, Operation> sorted() {
+        return new TreeMap<>(operations);
+    }
+
+    /**
+     * リクエスト種別をファイル名・タグに使える文字列に変換する（例: "POST /api/food/add" → "POST_api_food_add"）。
+     */
+    static String toFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
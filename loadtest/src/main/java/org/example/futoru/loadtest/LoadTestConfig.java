@@ -0,0 +1,109 @@
+package org.example.futoru.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 負荷試験の実行条件。
+ * <p>
+ * コマンドライン引数（{@code --name=value} 形式）から生成する。
+ * 指定しなかった項目は既定値を使う。
+ * </p>
+ *
+ * @param baseUri      試験対象のURL（例: http://localhost:8080）
+ * @param users        同時に操作する仮想ユーザー数（1ユーザー = 1セッション = 1仮想スレッド）
+ * @param warmup       計測前のウォームアップ時間（この間の結果は集計しない）
+ * @param duration     計測時間
+ * @param thinkTime    操作の間隔の平均（指数分布でばらつかせる。0で間隔なし）
+ * @param burstSize    食事記録の連続追加1回あたりの件数
+ * @param userPrefix   試験用ユーザー名の接頭辞（連番を付けて使う）
+ * @param password     試験用ユーザーのパスワード
+ * @param mix          シナリオの構成比
+ * @param outputDir    結果ファイルの出力先（既定はシステムプロパティ {@code loadtest.output}）
+ */
+public record LoadTestConfig(
+        URI baseUri,
+        int users,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int burstSize,
+        String userPrefix,
+        String password,
+        ScenarioMix mix,
+        Path outputDir
+) {
+
+    /** 指定可能な引数名 */
+    private static final Set<String> KNOWN_OPTIONS = Set.of(
+            "base-url", "users", "warmup", "duration", "think-time", "burst-size",
+            "user-prefix", "password", "mix", "output");
+
+    /**
+     * コマンドライン引数を解析する。
+     *
+     * @param args {@code --name=value} 形式の引数
+     * @return 実行条件
+     * @throws IllegalArgumentException 引数の形式が不正な場合
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("引数は --name=value の形式で指定してください: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(stripTrailingSlash(options.getOrDefault("base-url", "http://localhost:8080"))),
+                Integer.parseInt(options.getOrDefault("users", "50")),
+                parseDuration(options.getOrDefault("warmup", "30s")),
+                parseDuration(options.getOrDefault("duration", "60s")),
+                parseDuration(options.getOrDefault("think-time", "1s")),
+                Integer.parseInt(options.getOrDefault("burst-size", "5")),
+                options.getOrDefault("user-prefix", "loadtest-"),
+                options.getOrDefault("password", "loadtest-password"),
+                ScenarioMix.parse(options.getOrDefault("mix", ScenarioMix.DEFAULT)),
+                Path.of(options.getOrDefault("output", System.getProperty("loadtest.output", "target/loadtest")))
+        );
+
+        if (config.users() < 1 || config.burstSize() < 1) {
+            throw new IllegalArgumentException("users と burst-size は1以上を指定してください");
+        }
+        // 登録画面の入力チェック（ユーザIDは20文字以内）に合わせる
+        if ((config.userPrefix() + config.users()).length() > 20) {
+            throw new IllegalArgumentException("ユーザー名が20文字を超えます。user-prefix を短くしてください");
+        }
+        options.keySet().removeAll(KNOWN_OPTIONS);
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("不明な引数です: " + options.keySet());
+        }
+        return config;
+    }
+
+    /**
+     * 時間を解析する（"500ms"、"30s"、"5m" 形式。単位を省略した場合は秒）。
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
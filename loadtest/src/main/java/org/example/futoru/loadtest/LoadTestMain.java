@@ -0,0 +1,132 @@
+package org.example.futoru.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 負荷試験の実行エントリポイント。
+ * <p>
+ * 起動済みのアプリケーションに対して、指定数の仮想ユーザーを仮想スレッドで同時に動かす。
+ * 各仮想ユーザーはログイン後、構成比に従ってシナリオを選び、操作の間隔（思考時間）をおいて繰り返す。
+ * ウォームアップの後、計測時間内に完了したリクエストの応答時間を集計し、
+ * 標準出力に表を、出力先ディレクトリに HdrHistogram 形式のファイルを書き出す。
+ * </p>
+ * <pre>
+ * ../backend/mvnw -f loadtest/pom.xml compile exec:java \
+ *     -Dexec.args="--base-url=http://localhost:8080 --users=50 --warmup=30s --duration=60s"
+ * </pre>
+ */
+public final class LoadTestMain {
+
+    /** 全仮想ユーザーのログイン完了を待つ上限 */
+    private static final Duration SIGN_IN_TIMEOUT = Duration.ofMinutes(2);
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        LatencyStats stats = new LatencyStats();
+
+        System.out.printf("target=%s users=%d warmup=%ds duration=%ds think-time=%dms mix=%s%n",
+                config.baseUri(), config.users(), config.warmup().toSeconds(), config.duration().toSeconds(),
+                config.thinkTime().toMillis(), config.mix());
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch signedIn = new CountDownLatch(config.users());
+        AtomicInteger signInFailures = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 1; i <= config.users(); i++) {
+                String username = config.userPrefix() + i;
+                executor.submit(() -> runUser(config, username, stats, running, signedIn, signInFailures));
+            }
+
+            if (!signedIn.await(SIGN_IN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || signInFailures.get() > 0) {
+                running.set(false);
+                executor.shutdownNow();
+                System.err.printf("ログインに失敗した仮想ユーザーがあるため中止します（失敗: %d）%n", signInFailures.get());
+                System.exit(1);
+            }
+            System.out.printf("%d users signed in, warming up...%n", config.users());
+
+            Thread.sleep(config.warmup().toMillis());
+            stats.start();
+            System.out.println("measuring...");
+            Thread.sleep(config.duration().toMillis());
+            stats.stop();
+            running.set(false);
+        }
+
+        System.out.println();
+        stats.printSummary(System.out);
+        writeResults(config, stats);
+    }
+
+    /**
+     * 仮想ユーザー1人分の処理。ログインした後、停止の指示があるまでシナリオを繰り返す。
+     * <p>
+     * シナリオの途中で失敗した場合は、そのシナリオを打ち切って次の操作に進む（失敗は {@link LatencyStats} に記録済み）。
+     * </p>
+     */
+    private static void runUser(LoadTestConfig config, String username, LatencyStats stats,
+                                AtomicBoolean running, CountDownLatch signedIn, AtomicInteger signInFailures) {
+        HttpClient client = FutoruSession.newClient();
+        FutoruSession session = new FutoruSession(client, config.baseUri(), username, config.password(), stats);
+        try {
+            session.signIn();
+        } catch (Exception e) {
+            System.err.printf("%s: ログインに失敗しました: %s%n", username, e.getMessage());
+            signInFailures.incrementAndGet();
+            return;
+        } finally {
+            signedIn.countDown();
+        }
+
+        while (running.get()) {
+            try {
+                config.mix().next().run(session, config);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // 失敗はリクエスト単位で記録済み。シナリオの残りは実行しない
+            }
+            if (!thinkTime(config.thinkTime())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 操作の間隔をおく。間隔は指定した平均値の指数分布に従う（ユーザーの操作が一定周期で揃わないようにする）。
+     *
+     * @return 割り込まれた場合は false
+     */
+    private static boolean thinkTime(Duration mean) {
+        if (mean.isZero()) {
+            return true;
+        }
+        double factor = -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        try {
+            Thread.sleep((long) (mean.toMillis() * factor));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void writeResults(LoadTestConfig config, LatencyStats stats) throws IOException {
+        stats.writeHistograms(config.outputDir());
+        System.out.printf("%nhistograms written to %s%n", config.outputDir().toAbsolutePath());
+    }
+}
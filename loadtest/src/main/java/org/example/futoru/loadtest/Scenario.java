@@ -0,0 +1,115 @@
+package org.example.futoru.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 仮想ユーザーが実行する操作（シナリオ）。
+ * <p>
+ * 各シナリオは、画面操作1回分にブラウザが送るリクエストをまとめて再現する。
+ * 集計はシナリオ単位ではなくリクエスト単位で行う（{@link FutoruSession} の呼び出しごとに記録される）。
+ * </p>
+ */
+public enum Scenario {
+
+    /**
+     * ダッシュボードの表示。
+     * トップページのHTMLと、メニュー選択を開いたときの「よく使う食品」の取得。
+     */
+    DASHBOARD("dashboard") {
+        @Override
+        void run(FutoruSession session, LoadTestConfig config) throws Exception {
+            session.get("GET /", "/");
+            session.get("GET /api/food/recent", "/api/food/recent");
+        }
+    },
+
+    /**
+     * 食事記録の連続追加。
+     * 食品を続けて記録したあと、記録を取り消す（削除する）。
+     * 試験用ユーザーの当日の記録件数が試験時間に比例して増え、ダッシュボードの結果に影響しないようにするため。
+     */
+    FOOD_ADD_BURST("food-burst") {
+        @Override
+        void run(FutoruSession session, LoadTestConfig config) throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Long> added = new ArrayList<>();
+            for (int i = 0; i < config.burstSize(); i++) {
+                String body = session.post("POST /api/food/add", "/api/food/add?mode=delta&foodItemId="
+                        + session.randomFoodId() + "&amount=" + (1 + random.nextInt(3)));
+                added.add(FutoruSession.extractEntryId(body));
+            }
+            for (Long id : added) {
+                session.post("POST /api/food/delete/{id}", "/api/food/delete/" + id + "?mode=delta");
+            }
+        }
+    },
+
+    /**
+     * 体重の参照。
+     * カレンダーで直近30日のいずれかの日付を選んだときの取得と、体重推移グラフの取得。
+     */
+    WEIGHT_LOOKUP("weight") {
+        @Override
+        void run(FutoruSession session, LoadTestConfig config) throws Exception {
+            LocalDate date = LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(30));
+            session.get("GET /api/weight", "/api/weight?date=" + date);
+            session.get("GET /api/weight/chart", "/api/weight/chart");
+        }
+    },
+
+    /**
+     * レシピの作成。
+     * 作成画面を開き、食品の検索結果から選んだ食材と手入力の食材でレシピを保存する。
+     */
+    RECIPE_CREATE("recipe") {
+        @Override
+        void run(FutoruSession session, LoadTestConfig config) throws Exception {
+            session.get("GET /recipe/create", "/recipe/create");
+            session.get("GET /api/food/search", "/api/food/search?limit=20");
+            String json = """
+                    {"name":"負荷試験レシピ %d","type":"DISH","ingredients":[\
+                    {"foodItemId":%d,"amount":1.0},\
+                    {"foodItemId":%d,"amount":0.5},\
+                    {"manualName":"調味料","manualCalories":30,"amount":1.0}]}"""
+                    .formatted(System.nanoTime(), session.randomFoodId(), session.randomFoodId());
+            session.postJson("POST /recipe/create", "/recipe/create", json);
+        }
+    };
+
+    /** 構成比の指定（{@code --mix}）で使う名前 */
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * シナリオを1回実行する。
+     *
+     * @param session 実行する仮想ユーザーのセッション
+     * @param config  実行条件
+     * @throws Exception 通信に失敗した場合、または想定外の応答を受け取った場合
+     */
+    abstract void run(FutoruSession session, LoadTestConfig config) throws Exception;
+
+    /**
+     * 名前からシナリオを取得する。
+     *
+     * @throws IllegalArgumentException 該当するシナリオがない場合
+     */
+    static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("不明なシナリオです: " + key);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.futoru.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * シナリオの構成比。
+ * <p>
+ * {@code dashboard:50,food-burst:20,weight:20,recipe:10} のように、シナリオ名と重みを指定する。
+ * 仮想ユーザーは操作のたびに、重みに比例した確率でシナリオを選ぶ。
+ * </p>
+ */
+public final class ScenarioMix {
+
+    /**
+     * 既定の構成比。
+     * 最も利用されるダッシュボードの表示を中心に、記録・参照・レシピ作成を混ぜる。
+     */
+    public static final String DEFAULT = "dashboard:50,food-burst:20,weight:20,recipe:10";
+
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private ScenarioMix(Map<Scenario, Integer> weights) {
+        this.scenarios = new Scenario[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Scenario, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            scenarios[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * 構成比の指定を解析する。
+     *
+     * @param spec {@code 名前:重み} をカンマで区切った文字列
+     * @return 構成比
+     * @throws IllegalArgumentException 形式が不正な場合、または重みの合計が0の場合
+     */
+    public static ScenarioMix parse(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("構成比は 名前:重み の形式で指定してください: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("重みは0以上を指定してください: " + part);
+            }
+            if (weight > 0) {
+                weights.merge(Scenario.fromKey(pair[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("実行するシナリオがありません: " + spec);
+        }
+        return new ScenarioMix(weights);
+    }
+
+    /**
+     * 重みに比例した確率でシナリオを選ぶ。
+     */
+    public Scenario next() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < scenarios.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        int previous = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            joiner.add(scenarios[i].key() + ":" + (cumulativeWeights[i] - previous));
+            previous = cumulativeWeights[i];
+        }
+        return joiner.toString();
+    }
+}